@@ -0,0 +1,52 @@
+#ifdef GL_ES
+precision mediump float;
+#endif
+
+// Rio numa passada só: o fundo rolando por UV e camadas procedurais por cima.
+// Cada camada anda a uma fração k/4 da rolagem; como u_scroll dá a volta em 4
+// alturas de tela (RiverWorld.RIVER_PERIOD), todas fecham o ciclo sem salto.
+
+varying vec4 v_color;
+varying vec2 v_texCoords;
+
+uniform sampler2D u_texture;
+uniform float u_scroll;      // rolagem em alturas de tela, [0, 4)
+uniform float u_scrollSpeed; // 0 na velocidade base, 1 no impulso máximo
+uniform vec3 u_layers;       // intensidade de profundidade, reflexos e espuma
+
+const float TAU = 6.2831853;
+
+float hash(vec2 cell) {
+    // Periódico em 12 x 24 células: a grade da espuma repete junto com a rolagem
+    cell = mod(cell, vec2(12.0, 24.0));
+    return fract(sin(dot(cell, vec2(127.1, 311.7))) * 43758.5453);
+}
+
+float noise(vec2 p) {
+    vec2 i = floor(p);
+    vec2 f = fract(p);
+    f = f * f * (3.0 - 2.0 * f);
+    return mix(mix(hash(i), hash(i + vec2(1.0, 0.0)), f.x),
+               mix(hash(i + vec2(0.0, 1.0)), hash(i + vec2(1.0, 1.0)), f.x), f.y);
+}
+
+void main() {
+    // v cresce para baixo na textura: subtrair a rolagem faz o rio descer
+    vec3 color = texture2D(u_texture, vec2(v_texCoords.x, fract(v_texCoords.y - u_scroll))).rgb;
+
+    // Profundidade: o mesmo fundo, duas vezes maior e na metade da velocidade, escurecendo
+    vec2 deepUv = vec2(fract(v_texCoords.x * 0.5 + 0.25), fract(v_texCoords.y * 0.5 - u_scroll * 0.5));
+    float deep = dot(texture2D(u_texture, deepUv).rgb, vec3(0.299, 0.587, 0.114));
+    color *= 1.0 - u_layers.x * (1.0 - deep);
+
+    // Reflexos: faixas finas ondulando a 3/4 da velocidade
+    float wave = sin((v_texCoords.y - u_scroll * 0.75) * TAU * 3.0) * 0.15;
+    float band = sin((v_texCoords.x * 6.0 + wave) * TAU * 2.0);
+    color += u_layers.y * smoothstep(0.92, 1.0, band);
+
+    // Espuma: manchas alongadas no sentido da correnteza, mais frequentes com a velocidade
+    float n = noise(vec2(v_texCoords.x * 12.0, (v_texCoords.y - u_scroll * 1.5) * 4.0));
+    color += u_layers.z * smoothstep(0.8 - 0.2 * u_scrollSpeed, 0.95, n);
+
+    gl_FragColor = vec4(min(color, vec3(1.0)), 1.0) * v_color;
+}
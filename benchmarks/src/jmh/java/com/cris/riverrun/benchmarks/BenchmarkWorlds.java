@@ -0,0 +1,39 @@
+package com.cris.riverrun.benchmarks;
+
+import com.cris.riverrun.phases.PhaseDefinition;
+import com.cris.riverrun.world.InputSnapshot;
+import com.cris.riverrun.world.RiverWorld;
+
+// Mundos de teste: uma fase "enxame" cujo spawn mantém N obstáculos na tela sem remar
+final class BenchmarkWorlds {
+
+    static final float STEP = 1f / 60f;
+    // Sem remar o rio anda na velocidade base (80 px/s); um obstáculo de 96 px cruza 720 + 96 px
+    static final float LIFETIME = (RiverWorld.HEIGHT + 96f) / 80f;
+
+    private BenchmarkWorlds() {}
+
+    // Mesmos arquétipos da fase dark, com o intervalo de spawn para ~obstacles simultâneos
+    static PhaseDefinition swarm(int obstacles) {
+        float interval = LIFETIME / obstacles;
+        return PhaseDefinition.parse("{"
+            + "\"id\": \"swarm\", \"name\": \"Enxame\", \"background\": \"DarkRiver.png\", \"atlas\": \"atlas/dark.atlas\","
+            + "\"spawnInterval\": { \"min\": " + interval + ", \"max\": " + interval + " },"
+            + "\"obstacles\": ["
+            + "{ \"region\": \"kraken\", \"frames\": 12, \"weight\": 1, \"width\": [96, 96], \"height\": [96, 96], \"frameDuration\": 0.15 },"
+            + "{ \"region\": \"tentacle\", \"frames\": 6, \"weight\": 1, \"width\": [96, 96], \"height\": [96, 96], \"frameDuration\": 0.15 }"
+            + "],"
+            + "\"death\": { \"type\": \"frames\", \"region\": \"kraken\", \"frames\": 12, \"frameDuration\": 0.1, \"size\": 512 }"
+            + "}");
+    }
+
+    // Mundo invulnerável já em regime (a tela cheia, spawn e descarte equilibrados)
+    static RiverWorld saturated(int obstacles, long seed) {
+        RiverWorld world = new RiverWorld(swarm(obstacles), seed);
+        world.setInvulnerable(true);
+        InputSnapshot idle = new InputSnapshot();
+        int ticks = (int) (LIFETIME * 1.1f / STEP);
+        for (int i = 0; i < ticks; i++) world.step(idle, STEP);
+        return world;
+    }
+}
@@ -0,0 +1,64 @@
+package com.cris.riverrun.benchmarks;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+import com.cris.riverrun.phases.PhaseDefinition;
+import com.cris.riverrun.render.AnimationClock;
+import com.cris.riverrun.world.ObstacleStore;
+import com.cris.riverrun.world.RiverWorld;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parte de CPU do desenho de um frame do GameScreen, sem GL: posições do rio
+ * interpoladas, trecho visível da fila e o frame de animação de cada obstáculo,
+ * lido na tabela do relógio do arquétipo (as regiões são vazias; só o índice
+ * escolhido importa).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class FrameSelectionBenchmark {
+
+    @Param({"10", "100", "1000", "10000", "100000"})
+    public int obstacles;
+
+    private RiverWorld world;
+    private Array<AnimationClock<TextureRegion>> archetypeClocks;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        world = BenchmarkWorlds.saturated(obstacles, 42L);
+        PhaseDefinition phase = world.getPhase();
+        archetypeClocks = new Array<>(phase.archetypeCount());
+        for (int i = 0; i < phase.archetypeCount(); i++) {
+            PhaseDefinition.Archetype archetype = phase.archetype(i);
+            Array<TextureRegion> frames = new Array<>(archetype.frames);
+            for (int f = 0; f < archetype.frames; f++) frames.add(new TextureRegion());
+            archetypeClocks.add(new AnimationClock<>(archetype.frameDuration, frames));
+        }
+    }
+
+    @Benchmark
+    public void visibleFrames(Blackhole blackhole) {
+        float alpha = 0.5f;
+        blackhole.consume(world.getRiverScroll(alpha));
+        for (int i = 0; i < archetypeClocks.size; i++) archetypeClocks.get(i).update(world.getTime());
+        ObstacleStore store = world.getObstacles();
+        int end = world.endVisibleObstacle(alpha);
+        for (int i = world.firstVisibleObstacle(alpha); i < end; i++) {
+            blackhole.consume(archetypeClocks.get(store.archetype(i)).frame(store.phase(i)));
+            blackhole.consume(world.getObstacleY(i, alpha));
+        }
+    }
+}
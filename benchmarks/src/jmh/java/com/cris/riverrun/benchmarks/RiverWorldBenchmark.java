@@ -0,0 +1,48 @@
+package com.cris.riverrun.benchmarks;
+
+import com.cris.riverrun.world.InputSnapshot;
+import com.cris.riverrun.world.RiverWorld;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Um tick de RiverWorld.step em regime: rolagem do rio, cadência, spawn,
+ * colisão contínua com o que está perto do barco e descarte.
+ *
+ * O barco desvia para os lados (sem remar, para o número de obstáculos ficar
+ * estável) e é invulnerável, então a corrida nunca termina no meio da medição.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class RiverWorldBenchmark {
+
+    @Param({"10", "100", "1000", "10000", "100000"})
+    public int obstacles;
+
+    private RiverWorld world;
+    private final InputSnapshot left = new InputSnapshot().set(false, true, false);
+    private final InputSnapshot right = new InputSnapshot().set(false, false, true);
+    private int tick;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        world = BenchmarkWorlds.saturated(obstacles, 42L);
+    }
+
+    @Benchmark
+    public int step() {
+        // Meio segundo para cada lado
+        world.step((tick++ / 30 & 1) == 0 ? left : right, BenchmarkWorlds.STEP);
+        return world.getObstacleCount();
+    }
+}
@@ -0,0 +1,59 @@
+package com.cris.riverrun.world;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Operações da fila de obstáculos com N vivos: spawn no fim + descarte no
+ * começo (o par que acontece a cada obstáculo, incluindo as compactações) e a
+ * busca binária usada pela colisão e pela visibilidade.
+ *
+ * Fica no pacote world porque add/removeFirst são do pacote: fora dele a fila
+ * só é lida.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ObstacleStoreBenchmark {
+
+    @Param({"10", "100", "1000", "10000", "100000"})
+    public int obstacles;
+
+    private ObstacleStore store;
+    private float nextY;
+    private float query;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        store = new ObstacleStore(32);
+        for (int i = 0; i < obstacles; i++) spawn();
+    }
+
+    private int spawn() {
+        nextY += 1f;
+        return store.add(store.size() & 1, 50f, nextY, 96f, 96f, 0);
+    }
+
+    @Benchmark
+    public int spawnAndCull() {
+        store.removeFirst();
+        return spawn();
+    }
+
+    @Benchmark
+    public int lowerBound() {
+        // Percorre a faixa viva de y para não repetir sempre o mesmo caminho da busca
+        query += 7f;
+        if (query >= nextY) query = nextY - obstacles;
+        return store.lowerBound(query);
+    }
+}
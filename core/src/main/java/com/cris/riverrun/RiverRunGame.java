@@ -3,26 +3,99 @@ package com.cris.riverrun;
 import com.badlogic.gdx.Game;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.audio.Music;
+import com.badlogic.gdx.math.RandomXS128;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.cris.riverrun.assets.Assets;
+import com.cris.riverrun.assets.TextureCompression;
+import com.cris.riverrun.assets.TextureTier;
+import com.cris.riverrun.debug.PerfOverlay;
+import com.cris.riverrun.debug.ScreenTransitionEvent;
+import com.cris.riverrun.phases.PhaseDefinition;
+import com.cris.riverrun.render.DynamicResolution;
+import com.cris.riverrun.render.RenderScheduler;
 import com.cris.riverrun.screens.MenuScreen;
 import com.cris.riverrun.screens.GameScreen;
+import com.cris.riverrun.screens.LoadingScreen;
+import com.cris.riverrun.ui.UiRenderer;
+import com.cris.riverrun.world.InputRecording;
 
 public class RiverRunGame extends Game {
     public SpriteBatch batch;
+    public UiRenderer ui; // retângulos e texto pelo mesmo batch
+    public Assets assets;
+    public PerfOverlay perf; // painel de desempenho (F3), compartilhado pelas telas
+    public RenderScheduler scheduler; // contínuo ou sob demanda, conforme a tela
+    public DynamicResolution resolution; // null sem -Driverrun.dynamicResolution=true
+    public Array<PhaseDefinition> phases;
+    public PhaseDefinition lastPhase; // fase mais provável na próxima escolha
+
+    // Passo fixo da simulação (ex.: -Driverrun.tickRate=30 em hardware fraco)
+    public float tickRate = Integer.getInteger("riverrun.tickRate", 60);
+    public int maxCatchUpSteps = Integer.getInteger("riverrun.maxCatchUpSteps", 5);
+    // Tempo por frame para subir texturas carregadas em segundo plano (ex.: -Driverrun.uploadBudgetMs=8)
+    public int uploadBudgetMillis = Integer.getInteger("riverrun.uploadBudgetMs", Assets.DEFAULT_UPLOAD_BUDGET_MS);
+    // Semente fixa (-Driverrun.seed=...) repete corridas e menu; sem ela, uma nova por corrida
+    private final Long fixedSeed = Long.getLong("riverrun.seed");
+    private final RandomXS128 seeds = new RandomXS128();
     private Music menuMusic;
+    private String menuMusicPath;
 
     @Override
     public void create() {
         batch = new SpriteBatch();
+        assets = new Assets();
+        assets.setUploadBudgetMillis(uploadBudgetMillis);
+        // Nível de resolução pelo backbuffer real e variantes ETC2 do build, se o driver aceita
+        assets.setTier(TextureTier.select(Gdx.graphics.getBackBufferWidth(), Gdx.graphics.getBackBufferHeight()));
+        assets.setCompressedTextures(TextureCompression.supportsEtc2());
+        Gdx.app.log("RiverRun", "Texturas " + assets.getTier() + " " + (assets.isCompressedTextures() ? "ETC2" : "PNG"));
+        // O atlas comum (barco + pixel branco da UI) fica residente o jogo todo
+        TextureAtlas common = assets.acquire(Assets.COMMON_ATLAS, TextureAtlas.class);
+        ui = new UiRenderer(batch, common.findRegion("white"));
+        perf = new PerfOverlay();
+        scheduler = new RenderScheduler();
+        resolution = DynamicResolution.fromSystemProperties();
+        perf.resize(Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+        phases = PhaseDefinition.loadAll(Gdx.files.internal("phases/index.json"));
+        lastPhase = phases.first();
+        // -Driverrun.replay=arquivo abre direto a reprodução de uma corrida gravada
+        String replayPath = System.getProperty("riverrun.replay");
+        if (replayPath != null) {
+            InputRecording replay = InputRecording.read(Gdx.files.absolute(replayPath));
+            setScreen(new LoadingScreen(this, phase(replay.phaseId), replay));
+            return;
+        }
         setScreen(new MenuScreen(this));
         playMenuMusic("menu_theme.mp3"); // toca música do menu assim que o jogo inicia
     }
 
+    // Semente para uma corrida nova (ou para o sorteio do menu)
+    public long nextSeed() {
+        return fixedSeed != null ? fixedSeed : seeds.nextLong();
+    }
+
+    public PhaseDefinition phase(String id) {
+        for (PhaseDefinition phase : phases) {
+            if (phase.id.equals(id)) return phase;
+        }
+        throw new GdxRuntimeException("Fase desconhecida: " + id);
+    }
+
     // toca música do menu (chame de novo ao voltar pro menu)
     public void playMenuMusic(String path) {
         stopMenuMusic();
+        // Sem o arquivo, nem passa pelo AssetManager: o erro de carga derrubaria a fila compartilhada (prefetch)
+        if (!Gdx.files.internal(path).exists()) {
+            Gdx.app.log("RiverRun", "Música não encontrada: " + path);
+            return;
+        }
         try {
-            menuMusic = Gdx.audio.newMusic(Gdx.files.internal(path));
+            menuMusic = assets.acquire(path, Music.class);
+            menuMusicPath = path;
             menuMusic.setLooping(true);
             menuMusic.setVolume(0.5f);
             menuMusic.play();
@@ -35,13 +108,18 @@ public class RiverRunGame extends Game {
     public void stopMenuMusic() {
         if (menuMusic != null) {
             menuMusic.stop();
-            menuMusic.dispose();
+            assets.release(menuMusicPath);
             menuMusic = null;
+            menuMusicPath = null;
         }
     }
 
     @Override
     public void setScreen(com.badlogic.gdx.Screen screen) {
+        long start = TimeUtils.nanoTime();
+        ScreenTransitionEvent event = new ScreenTransitionEvent();
+        event.begin();
+        com.badlogic.gdx.Screen previous = getScreen();
         super.setScreen(screen);
         // controle automático de música conforme a tela
         if (screen instanceof MenuScreen) {
@@ -49,12 +127,30 @@ public class RiverRunGame extends Game {
         } else if (screen instanceof GameScreen) {
             stopMenuMusic();
         }
+        // só descarrega o que a tela nova não voltou a pedir
+        assets.collect();
+        event.end();
+        if (event.shouldCommit()) event.commit(previous != null ? previous.getClass() : null, screen.getClass());
+        Gdx.app.log("RiverRun", "Transição para " + screen.getClass().getSimpleName()
+            + " em " + TimeUtils.nanosToMillis(TimeUtils.timeSinceNanos(start)) + " ms");
+    }
+
+    @Override
+    public void resize(int width, int height) {
+        perf.resize(width, height);
+        super.resize(width, height);
     }
 
     @Override
     public void dispose() {
         super.dispose();
         stopMenuMusic();
+        perf.dispose();
+        scheduler.dispose();
+        if (resolution != null) resolution.dispose();
+        ui.dispose();
+        assets.release(Assets.COMMON_ATLAS);
+        assets.dispose();
         batch.dispose();
     }
 }
@@ -0,0 +1,239 @@
+package com.cris.riverrun.assets;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetLoaderParameters;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.ObjectSet;
+import com.cris.riverrun.debug.AssetLoadEvent;
+
+/**
+ * Cache de assets compartilhado entre as telas (texturas, atlas, sons e músicas).
+ *
+ * As telas pedem um asset com {@link #acquire} e o devolvem com {@link #release}.
+ * Cada caminho tem um contador de referências; quando ele chega a zero o asset
+ * não é descarregado na hora, só em {@link #collect()}, que o RiverRunGame chama
+ * depois de trocar de tela. Assim o hide() da tela antiga e o show() da nova
+ * podem usar o mesmo PNG sem decodificar e enviar à GPU de novo.
+ *
+ * Também há o caminho assíncrono: {@link #acquireAsync} e {@link #prefetch} só
+ * enfileiram o asset. O AssetManager decodifica os PNGs em Pixmap na sua thread
+ * de carga e {@link #update()} faz os uploads para a GPU na thread do GL, gastando
+ * no máximo {@link #getUploadBudgetMillis()} ms por frame.
+ *
+ * Cada carga vira um {@link AssetLoadEvent} no JFR: a síncrona mede o tempo
+ * em que travou o frame, a assíncrona vai do pedido até ficar residente.
+ *
+ * Com {@link #setTier} e {@link #setCompressedTextures}, PNGs e atlas são
+ * trocados pela variante gerada no build, quando ela existe: primeiro o nível de
+ * resolução ({@link #SCALED_FOLDER}, atlas com sufixo), depois a versão ETC2 dele
+ * ({@link #COMPRESSED_FOLDER}). As telas continuam pedindo e devolvendo pelo
+ * caminho original.
+ */
+public class Assets implements Disposable {
+
+    public static final String COMMON_ATLAS = "atlas/common.atlas";
+    public static final String COMMON_MASKS = "atlas/common.masks";
+    public static final int DEFAULT_UPLOAD_BUDGET_MS = 4;
+    public static final String COMPRESSED_FOLDER = "etc2/";
+    public static final String SCALED_FOLDER = "scaled/";
+
+    private final AssetManager manager = new AssetManager();
+    private final ObjectIntMap<String> references = new ObjectIntMap<>();
+    private final Array<String> pendingUnload = new Array<>();
+    private final ObjectSet<String> prefetched = new ObjectSet<>();
+    private int uploadBudgetMillis = DEFAULT_UPLOAD_BUDGET_MS;
+    // Cargas assíncronas em andamento (só com gravação JFR ativa)
+    private final Array<AssetLoadEvent> loadEvents = new Array<>();
+    private final Array<AssetDescriptor<?>> loadEventAssets = new Array<>();
+    // Caminho pedido -> caminho carregado (nível de resolução, variante ETC2 ou o próprio)
+    private TextureTier tier = TextureTier.NORMAL;
+    private boolean compressedTextures = false;
+    private final ObjectMap<String, String> resolved = new ObjectMap<>();
+
+    // Liga as variantes ETC2 (veja TextureCompression.supportsEtc2); vale para as próximas cargas
+    public void setCompressedTextures(boolean enabled) {
+        compressedTextures = enabled;
+        resolved.clear();
+    }
+
+    public boolean isCompressedTextures() {
+        return compressedTextures;
+    }
+
+    // Nível de resolução (veja TextureTier.select); vale para as próximas cargas
+    public void setTier(TextureTier tier) {
+        this.tier = tier;
+        resolved.clear();
+    }
+
+    public TextureTier getTier() {
+        return tier;
+    }
+
+    private String resolve(String path) {
+        String real = resolved.get(path);
+        if (real == null) {
+            real = compressed(tiered(path));
+            resolved.put(path, real);
+        }
+        return real;
+    }
+
+    // x.png -> scaled/x.png (1x no tamanho de desenho) ou scaled/x@0.5x.png e
+    // atlas/x.atlas -> atlas/x@0.5x.atlas, se foram gerados
+    private String tiered(String path) {
+        String candidate = null;
+        if (path.endsWith(".png")) candidate = SCALED_FOLDER + path.substring(0, path.length() - 4) + tier.suffix + ".png";
+        else if (path.endsWith(".atlas") && tier != TextureTier.NORMAL) candidate = path.substring(0, path.length() - 6) + tier.suffix + ".atlas";
+        return candidate != null && Gdx.files.internal(candidate).exists() ? candidate : path;
+    }
+
+    // x.png -> etc2/x.ktx e atlas/x.atlas -> etc2/atlas/x.atlas (páginas .ktx), se foram gerados
+    private String compressed(String path) {
+        if (!compressedTextures) return path;
+        String candidate = null;
+        if (path.endsWith(".png")) candidate = COMPRESSED_FOLDER + path.substring(0, path.length() - 4) + ".ktx";
+        else if (path.endsWith(".atlas")) candidate = COMPRESSED_FOLDER + path;
+        return candidate != null && Gdx.files.internal(candidate).exists() ? candidate : path;
+    }
+
+    private <T> AssetDescriptor<T> resolve(AssetDescriptor<T> asset) {
+        String real = resolve(asset.fileName);
+        return real.equals(asset.fileName) ? asset : new AssetDescriptor<T>(real, asset.type, paramsOf(asset));
+    }
+
+    // AssetDescriptor.params é cru; os parâmetros vieram do próprio descriptor, então são de T
+    @SuppressWarnings("unchecked")
+    private static <T> AssetLoaderParameters<T> paramsOf(AssetDescriptor<T> asset) {
+        return (AssetLoaderParameters<T>) asset.params;
+    }
+
+    // Carrega (se preciso) e devolve o asset, somando uma referência
+    public <T> T acquire(String path, Class<T> type) {
+        path = resolve(path);
+        int refs = references.get(path, 0);
+        if (!manager.contains(path)) manager.load(path, type);
+        if (!manager.isLoaded(path, type)) {
+            AssetLoadEvent event = new AssetLoadEvent();
+            event.begin();
+            manager.finishLoadingAsset(path);
+            event.end();
+            if (event.shouldCommit()) event.commit(path, type, false);
+        }
+        references.put(path, refs + 1);
+        prefetched.remove(path);
+        return manager.get(path, type);
+    }
+
+    // Soma uma referência e enfileira a carga sem bloquear; acompanhe com update()/isLoaded()
+    public void acquireAsync(AssetDescriptor<?> asset) {
+        asset = resolve(asset);
+        references.getAndIncrement(asset.fileName, 0, 1);
+        prefetched.remove(asset.fileName);
+        if (!manager.contains(asset.fileName)) {
+            manager.load(asset);
+            beginLoadEvent(asset);
+        }
+    }
+
+    // Carga especulativa (ex.: fase sob o mouse); sem referência, é descartada no próximo collect()
+    public void prefetch(AssetDescriptor<?> asset) {
+        asset = resolve(asset);
+        if (manager.contains(asset.fileName)) return;
+        manager.load(asset);
+        prefetched.add(asset.fileName);
+        beginLoadEvent(asset);
+    }
+
+    private void beginLoadEvent(AssetDescriptor<?> asset) {
+        AssetLoadEvent event = new AssetLoadEvent();
+        if (!event.isEnabled()) return;
+        event.begin();
+        loadEvents.add(event);
+        loadEventAssets.add(asset);
+    }
+
+    // Avança a fila dentro do orçamento do frame; true quando não há nada pendente
+    public boolean update() {
+        boolean done = manager.update(uploadBudgetMillis);
+        for (int i = loadEvents.size - 1; i >= 0; i--) {
+            AssetDescriptor<?> asset = loadEventAssets.get(i);
+            // Residente, ou descartado antes de terminar (prefetch não usado)
+            if (manager.isLoaded(asset.fileName) || !manager.contains(asset.fileName)) {
+                AssetLoadEvent event = loadEvents.removeIndex(i);
+                loadEventAssets.removeIndex(i);
+                event.end();
+                if (event.shouldCommit()) event.commit(asset.fileName, asset.type, true);
+            }
+        }
+        return done;
+    }
+
+    public boolean isLoaded(String path) {
+        return manager.isLoaded(resolve(path));
+    }
+
+    public boolean isLoading() {
+        return !manager.isFinished();
+    }
+
+    public int getUploadBudgetMillis() {
+        return uploadBudgetMillis;
+    }
+
+    public void setUploadBudgetMillis(int uploadBudgetMillis) {
+        this.uploadBudgetMillis = Math.max(1, uploadBudgetMillis);
+    }
+
+    // Devolve uma referência; o asset fica carregado até o próximo collect()
+    public void release(String path) {
+        path = resolve(path);
+        int refs = references.get(path, 0);
+        if (refs <= 0) return;
+        if (refs == 1) {
+            references.remove(path, 0);
+            pendingUnload.add(path);
+        } else {
+            references.put(path, refs - 1);
+        }
+    }
+
+    // Descarrega o que ficou sem referências desde a última chamada
+    public void collect() {
+        for (int i = 0; i < pendingUnload.size; i++) {
+            String path = pendingUnload.get(i);
+            if (references.get(path, 0) == 0 && manager.contains(path)) {
+                manager.unload(path);
+            }
+        }
+        pendingUnload.clear();
+
+        // Prefetch que ninguém pediu (ou ainda na fila) também sai
+        for (String path : prefetched) {
+            if (references.get(path, 0) == 0 && manager.contains(path)) {
+                manager.unload(path);
+            }
+        }
+        prefetched.clear();
+    }
+
+    public int referenceCount(String path) {
+        return references.get(resolve(path), 0);
+    }
+
+    @Override
+    public void dispose() {
+        references.clear();
+        pendingUnload.clear();
+        prefetched.clear();
+        loadEvents.clear();
+        loadEventAssets.clear();
+        resolved.clear();
+        manager.dispose();
+    }
+}
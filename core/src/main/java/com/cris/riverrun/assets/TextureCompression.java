@@ -0,0 +1,49 @@
+package com.cris.riverrun.assets;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.glutils.GLVersion;
+import com.badlogic.gdx.utils.BufferUtils;
+
+import java.nio.IntBuffer;
+
+/**
+ * Se o driver aceita as variantes ETC2 geradas pelo :compressTextures.
+ *
+ * ETC2 é nativo em GL ES 3.0 e em GL 4.3 / ARB_ES3_compatibility; nas GPUs
+ * integradas ele fica comprimido na VRAM. Alguns drivers desktop só
+ * descomprimem no upload: aí não há ganho de memória, mas ainda se poupa a
+ * decodificação dos PNGs.
+ */
+public final class TextureCompression {
+
+    public static final int GL_COMPRESSED_RGB8_ETC2 = 0x9274;
+    public static final int GL_COMPRESSED_RGBA8_ETC2_EAC = 0x9278;
+
+    private TextureCompression() {
+    }
+
+    // Precisa do contexto GL; -Driverrun.etc2=false força os PNGs
+    public static boolean supportsEtc2() {
+        if (!Boolean.parseBoolean(System.getProperty("riverrun.etc2", "true"))) return false;
+        GLVersion version = Gdx.graphics.getGLVersion();
+        if (version.getType() == GLVersion.Type.GLES && version.isVersionEqualToOrHigher(3, 0)) return true;
+        if (version.getType() == GLVersion.Type.OpenGL && version.isVersionEqualToOrHigher(4, 3)) return true;
+        if (Gdx.graphics.supportsExtension("GL_ARB_ES3_compatibility")) return true;
+
+        // Senão, a lista de formatos comprimidos que o driver anuncia
+        IntBuffer count = BufferUtils.newIntBuffer(16);
+        Gdx.gl.glGetIntegerv(GL20.GL_NUM_COMPRESSED_TEXTURE_FORMATS, count);
+        int n = count.get(0);
+        if (n <= 0) return false;
+        IntBuffer formats = BufferUtils.newIntBuffer(n);
+        Gdx.gl.glGetIntegerv(GL20.GL_COMPRESSED_TEXTURE_FORMATS, formats);
+        boolean rgb = false, rgba = false;
+        for (int i = 0; i < n; i++) {
+            int format = formats.get(i);
+            if (format == GL_COMPRESSED_RGB8_ETC2) rgb = true;
+            if (format == GL_COMPRESSED_RGBA8_ETC2_EAC) rgba = true;
+        }
+        return rgb && rgba;
+    }
+}
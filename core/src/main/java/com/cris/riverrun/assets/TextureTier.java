@@ -0,0 +1,41 @@
+package com.cris.riverrun.assets;
+
+/**
+ * Nível de resolução das texturas, escolhido uma vez no início pelo tamanho do
+ * backbuffer contra o espaço virtual 1280x720 das telas (FitViewport).
+ *
+ * O build (:packTextures/:scaleTextures) reduz cada região e textura grande ao
+ * maior tamanho em que ela é desenhada nesse espaço: o 1x tem um texel por
+ * unidade virtual (a arte fonte, de 500 a 1536 px, passava disso), o 0.5x é a
+ * metade dele e o 2x vai até o dobro, limitado pela fonte. Cada nível cobre as
+ * telas até 1.5x a sua escala; acima disso vale o seguinte.
+ */
+public enum TextureTier {
+    HALF("@0.5x", 0.5f),
+    NORMAL("", 1f),
+    DOUBLE("@2x", 2f);
+
+    private static final float VIRTUAL_W = 1280f;
+    private static final float VIRTUAL_H = 720f;
+
+    public final String suffix; // vai antes da extensão: atlas/dark@0.5x.atlas, scaled/DarkRiver@0.5x.png
+    public final float scale;   // texels por unidade virtual no tamanho de desenho
+
+    TextureTier(String suffix, float scale) {
+        this.suffix = suffix;
+        this.scale = scale;
+    }
+
+    // -Driverrun.tier=HALF|NORMAL|DOUBLE força o nível
+    public static TextureTier select(int backBufferWidth, int backBufferHeight) {
+        String forced = System.getProperty("riverrun.tier");
+        if (forced != null) return valueOf(forced.toUpperCase());
+        // Mesma escala que a FitViewport vai aplicar
+        float ratio = Math.min(backBufferWidth / VIRTUAL_W, backBufferHeight / VIRTUAL_H);
+        // O menor nível que não amplia mais que 1.5x: 540p -> HALF, 720p e 1080p -> NORMAL, 1440p -> DOUBLE
+        for (TextureTier tier : values()) {
+            if (tier.scale * 1.5f >= ratio) return tier;
+        }
+        return DOUBLE;
+    }
+}
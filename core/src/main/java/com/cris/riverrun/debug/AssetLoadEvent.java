@@ -0,0 +1,28 @@
+package com.cris.riverrun.debug;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("riverrun.AssetLoad")
+@Label("Asset Load")
+@Description("Carga de um asset: síncrona (trava o frame) ou assíncrona (do pedido até ficar residente)")
+public class AssetLoadEvent extends RiverRunEvent {
+
+    @Label("Path")
+    String path;
+
+    @Label("Type")
+    Class<?> type;
+
+    @Label("Async")
+    boolean async;
+
+    public void commit(String path, Class<?> type, boolean async) {
+        fillContext();
+        this.path = path;
+        this.type = type;
+        this.async = async;
+        commit();
+    }
+}
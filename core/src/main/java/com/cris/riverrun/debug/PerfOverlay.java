@@ -0,0 +1,214 @@
+package com.cris.riverrun.debug;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.StringBuilder;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.cris.riverrun.ui.TextLine;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Painel de desempenho (F3): histograma dos últimos frames com p50/p95/p99/máx,
+ * tempo de update e de render, contadores do {@link GLProfiler}, flushes do
+ * SpriteBatch do jogo, GC, heap e número de obstáculos.
+ *
+ * As telas marcam as fases do frame ({@link #beginFrame}, {@link #endUpdate},
+ * {@link #endRender}) e chamam {@link #draw} por último; os contadores de GL e
+ * de flushes são fechados ali, depois do painel, então cada frame conta o
+ * próprio painel. Tudo é pré-alocado e o desenho é um único begin/end do batch,
+ * para a medição não mexer no que mede.
+ * Os textos e percentis são refeitos só a cada {@link #REFRESH_FRAMES} frames.
+ */
+public final class PerfOverlay implements Disposable {
+
+    private static final int WINDOW = 240;         // frames no histograma (~4 s a 60 Hz)
+    private static final int BUCKETS = 40;         // 1 ms por barra; a última junta tudo acima
+    private static final int REFRESH_FRAMES = 15;
+    private static final float BUDGET_MS = 1000f / 60f;
+
+    private final GLProfiler profiler;
+    private final BitmapFont font;
+    private final Texture pixel;
+    private final Matrix4 projection = new Matrix4();
+    private final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+    private final Runtime runtime = Runtime.getRuntime();
+    private boolean visible = false;
+
+    // Janela de frames (anel) e cópia ordenada para os percentis
+    private final float[] frameMs = new float[WINDOW];
+    private final float[] sorted = new float[WINDOW];
+    private final int[] buckets = new int[BUCKETS];
+    private int head, count, framesSinceRefresh;
+
+    // Frame atual
+    private long frameStart, updateEnd;
+    private float updateMs, renderMs;
+    private int drawCalls, textureBindings, shaderSwitches, batchFlushes, obstacles = -1;
+
+    private final StringBuilder[] lines = new StringBuilder[6];
+
+    public PerfOverlay() {
+        profiler = new GLProfiler(Gdx.graphics);
+        font = new BitmapFont();
+        Pixmap white = new Pixmap(1, 1, Pixmap.Format.RGBA8888);
+        white.setColor(Color.WHITE);
+        white.fill();
+        pixel = new Texture(white);
+        white.dispose();
+        for (int i = 0; i < lines.length; i++) lines[i] = new StringBuilder(64);
+    }
+
+    public boolean isVisible() {
+        return visible;
+    }
+
+    // Liga/desliga; o GLProfiler só intercepta as chamadas GL enquanto o painel está aberto
+    public void toggle() {
+        visible = !visible;
+        if (visible) {
+            profiler.reset();
+            profiler.enable();
+        } else {
+            profiler.disable();
+        }
+    }
+
+    // Início do frame: delta é o tempo desde o frame anterior
+    public void beginFrame(float delta) {
+        frameStart = TimeUtils.nanoTime();
+        frameMs[head] = delta * 1000f;
+        head = (head + 1) % WINDOW;
+        if (count < WINDOW) count++;
+    }
+
+    public void endUpdate() {
+        updateEnd = TimeUtils.nanoTime();
+        updateMs = (updateEnd - frameStart) / 1_000_000f;
+    }
+
+    // Fim do desenho da tela (antes do painel); obstacles < 0 esconde a linha
+    public void endRender(int obstacles) {
+        renderMs = (TimeUtils.nanoTime() - updateEnd) / 1_000_000f;
+        this.obstacles = obstacles;
+    }
+
+    public void resize(int width, int height) {
+        projection.setToOrtho2D(0, 0, width, height);
+    }
+
+    // Último passo do frame: desenha o painel no batch do jogo e só então fecha os contadores
+    public void draw(SpriteBatch batch) {
+        if (visible && count > 0) drawPanel(batch);
+        takeCounters(batch);
+    }
+
+    // Lidos depois do flush do painel, para o frame contar também o próprio desenho
+    private void takeCounters(SpriteBatch batch) {
+        batchFlushes = batch.totalRenderCalls;
+        batch.totalRenderCalls = 0;
+        if (!visible) return;
+        drawCalls = profiler.getDrawCalls();
+        textureBindings = profiler.getTextureBindings();
+        shaderSwitches = profiler.getShaderSwitches();
+        profiler.reset();
+    }
+
+    private void drawPanel(SpriteBatch batch) {
+        if (framesSinceRefresh++ % REFRESH_FRAMES == 0) refresh();
+
+        float panelW = 300f, graphH = 60f, lineH = 18f;
+        float panelH = graphH + lineH * lines.length + 24f;
+        float x = Gdx.graphics.getWidth() - panelW - 10f;
+        float y = Gdx.graphics.getHeight() - panelH - 10f;
+
+        batch.setProjectionMatrix(projection);
+        batch.begin();
+        batch.setColor(0f, 0f, 0f, 0.65f);
+        batch.draw(pixel, x, y, panelW, panelH);
+
+        // Histograma: barras de 1 ms, verdes dentro do orçamento de 60 Hz, amarelas até 30 Hz
+        int tallest = 1;
+        for (int i = 0; i < BUCKETS; i++) tallest = Math.max(tallest, buckets[i]);
+        float barW = (panelW - 16f) / BUCKETS;
+        float graphX = x + 8f, graphY = y + panelH - graphH - 8f;
+        for (int i = 0; i < BUCKETS; i++) {
+            if (buckets[i] == 0) continue;
+            if (i < BUDGET_MS) batch.setColor(0.3f, 0.9f, 0.4f, 1f);
+            else if (i < BUDGET_MS * 2f) batch.setColor(1f, 0.8f, 0.2f, 1f);
+            else batch.setColor(1f, 0.3f, 0.3f, 1f);
+            batch.draw(pixel, graphX + i * barW, graphY, barW - 1f, graphH * buckets[i] / tallest);
+        }
+        batch.setColor(1f, 1f, 1f, 0.5f);
+        batch.draw(pixel, graphX + BUDGET_MS * barW, graphY, 1f, graphH);
+        batch.setColor(Color.WHITE);
+
+        float textY = graphY - 6f;
+        for (int i = 0; i < lines.length; i++) {
+            if (lines[i].length() == 0) continue;
+            font.draw(batch, lines[i], x + 8f, textY);
+            textY -= lineH;
+        }
+        batch.end();
+    }
+
+    private void refresh() {
+        int n = count;
+        for (int i = 0; i < n; i++) sorted[i] = frameMs[i];
+        Arrays.sort(sorted, 0, n);
+        Arrays.fill(buckets, 0);
+        for (int i = 0; i < n; i++) buckets[Math.min(BUCKETS - 1, (int) sorted[i])]++;
+
+        long gcCount = 0, gcMillis = 0;
+        for (int i = 0; i < collectors.size(); i++) {
+            GarbageCollectorMXBean collector = collectors.get(i);
+            gcCount += Math.max(0, collector.getCollectionCount());
+            gcMillis += Math.max(0, collector.getCollectionTime());
+        }
+        long heapUsed = runtime.totalMemory() - runtime.freeMemory();
+
+        for (int i = 0; i < lines.length; i++) lines[i].setLength(0);
+        StringBuilder line = lines[0];
+        line.append("frame p50 "); appendMillis(line, percentile(n, 0.50f));
+        line.append("  p95 "); appendMillis(line, percentile(n, 0.95f));
+        line = lines[1];
+        line.append("p99 "); appendMillis(line, percentile(n, 0.99f));
+        line.append("  max "); appendMillis(line, sorted[n - 1]);
+        line = lines[2];
+        line.append("update "); appendMillis(line, updateMs);
+        line.append("  render "); appendMillis(line, renderMs);
+        line = lines[3];
+        line.append("draws ").append(drawCalls).append("  binds ").append(textureBindings)
+            .append("  shaders ").append(shaderSwitches).append("  flushes ").append(batchFlushes);
+        line = lines[4];
+        line.append("GC ").append(gcCount).append(" (").append(gcMillis).append(" ms)  heap ")
+            .append(heapUsed >> 20).append('/').append(runtime.maxMemory() >> 20).append(" MB");
+        line = lines[5];
+        if (obstacles >= 0) line.append("obstáculos ").append(obstacles);
+    }
+
+    private float percentile(int n, float q) {
+        return sorted[Math.min(n - 1, (int) (q * n))];
+    }
+
+    private static void appendMillis(StringBuilder out, float ms) {
+        TextLine.appendFixed(out, ms, 1).append(" ms");
+    }
+
+    @Override
+    public void dispose() {
+        profiler.disable();
+        font.dispose();
+        pixel.dispose();
+    }
+}
@@ -0,0 +1,20 @@
+package com.cris.riverrun.debug;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("riverrun.Render")
+@Label("Render")
+@Description("Desenho de um frame de uma tela")
+public class RenderEvent extends RiverRunEvent {
+
+    @Label("Screen")
+    String screen;
+
+    public void commit(String screen) {
+        fillContext();
+        this.screen = screen;
+        commit();
+    }
+}
@@ -0,0 +1,50 @@
+package com.cris.riverrun.debug;
+
+import com.badlogic.gdx.Gdx;
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+
+/**
+ * Base dos eventos JFR do jogo: todo evento leva o frame, a fase, o estado e
+ * o número de obstáculos do momento, para casar um engasgo com a causa.
+ *
+ * As telas atualizam esse contexto a cada frame com {@link #setContext}. O
+ * padrão de uso é o de sempre: begin(), trabalho, end() e só preencher os
+ * campos dentro de {@code if (event.shouldCommit())}, então sem uma gravação
+ * ativa (-XX:StartFlightRecording) o custo é praticamente nulo.
+ */
+@Category("RiverRun")
+public abstract class RiverRunEvent extends Event {
+
+    private static String currentPhase = "";
+    private static String currentState = "";
+    private static int currentObstacles;
+
+    @Label("Frame")
+    long frame;
+
+    @Label("Obstacles")
+    int obstacles;
+
+    @Label("State")
+    String state;
+
+    @Label("Phase")
+    String phase;
+
+    // Chamado pelas telas no início do frame; strings constantes, sem alocação
+    public static void setContext(String phase, String state, int obstacles) {
+        currentPhase = phase;
+        currentState = state;
+        currentObstacles = obstacles;
+    }
+
+    // Copia o contexto atual para o evento (só depois de shouldCommit())
+    protected void fillContext() {
+        frame = Gdx.graphics != null ? Gdx.graphics.getFrameId() : -1L;
+        obstacles = currentObstacles;
+        state = currentState;
+        phase = currentPhase;
+    }
+}
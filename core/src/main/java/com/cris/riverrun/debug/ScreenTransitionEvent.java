@@ -0,0 +1,24 @@
+package com.cris.riverrun.debug;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("riverrun.ScreenTransition")
+@Label("Screen Transition")
+@Description("Troca de tela: hide/dispose da antiga, show da nova e descarga dos assets sem uso")
+public class ScreenTransitionEvent extends RiverRunEvent {
+
+    @Label("From")
+    Class<?> from;
+
+    @Label("To")
+    Class<?> to;
+
+    public void commit(Class<?> from, Class<?> to) {
+        fillContext();
+        this.from = from;
+        this.to = to;
+        commit();
+    }
+}
@@ -0,0 +1,20 @@
+package com.cris.riverrun.debug;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("riverrun.Update")
+@Label("Update")
+@Description("Atualização de um frame (input e ticks da simulação)")
+public class UpdateEvent extends RiverRunEvent {
+
+    @Label("Ticks")
+    int ticks;
+
+    public void commit(int ticks) {
+        fillContext();
+        this.ticks = ticks;
+        commit();
+    }
+}
@@ -0,0 +1,175 @@
+package com.cris.riverrun.phases;
+
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+import com.cris.riverrun.assets.Assets;
+
+/**
+ * Definição imutável de uma fase (rio), lida uma vez de assets/phases/*.json.
+ *
+ * Tudo que antes dependia de comparar o nome do fundo (tamanhos e pesos dos
+ * obstáculos, intervalo de spawn, animação de morte) fica pré-calculado aqui,
+ * e o laço do jogo só lê campos. Para uma fase nova basta um JSON e uma linha
+ * em phases/index.json.
+ */
+public final class PhaseDefinition {
+
+    public enum DeathType { FRAMES, ZOOM }
+
+    // Um tipo de obstáculo que a fase pode gerar
+    public static final class Archetype {
+        public final String region;
+        public final float weight;
+        public final float minWidth, maxWidth;
+        public final float minHeight, maxHeight;
+        public final int frames;
+        public final float frameDuration;
+        public final float rightInset; // encolhe a faixa de x para obstáculos largos
+
+        Archetype(JsonValue json) {
+            region = json.getString("region");
+            weight = json.getFloat("weight", 1f);
+            float[] width = json.get("width").asFloatArray();
+            float[] height = json.get("height").asFloatArray();
+            minWidth = width[0];
+            maxWidth = width[1];
+            minHeight = height[0];
+            maxHeight = height[1];
+            frames = json.getInt("frames", 1);
+            frameDuration = json.getFloat("frameDuration", 0.15f);
+            rightInset = json.getFloat("rightInset", 0f);
+        }
+    }
+
+    // Animação de morte: sequência de frames gigante ou zoom de uma região
+    public static final class Death {
+        public final DeathType type;
+        public final String region;
+        public final int frames;          // FRAMES
+        public final float frameDuration; // FRAMES
+        public final float size;          // FRAMES
+        public final float duration;      // ZOOM
+        public final float startSize;     // ZOOM
+        public final float endSize;       // ZOOM
+
+        Death(JsonValue json) {
+            type = DeathType.valueOf(json.getString("type").toUpperCase());
+            region = json.getString("region");
+            frames = json.getInt("frames", 1);
+            frameDuration = json.getFloat("frameDuration", 0.1f);
+            size = json.getFloat("size", 512f);
+            duration = json.getFloat("duration", 1.2f);
+            startSize = json.getFloat("startSize", 50f);
+            endSize = json.getFloat("endSize", 600f);
+        }
+
+        // Tempo até o GAME_OVER
+        public float totalDuration() {
+            return type == DeathType.FRAMES ? frames * frameDuration : duration;
+        }
+    }
+
+    // Camadas procedurais do shader do rio, de 0 (desligada) a 1; sem o bloco "river" fica só o fundo
+    public static final class River {
+        public final float depth;       // o próprio fundo, maior e mais lento, escurecendo
+        public final float reflections; // faixas de brilho ondulando
+        public final float foam;        // espuma que estica com a velocidade
+
+        River(JsonValue json) {
+            depth = json == null ? 0f : json.getFloat("depth", 0f);
+            reflections = json == null ? 0f : json.getFloat("reflections", 0f);
+            foam = json == null ? 0f : json.getFloat("foam", 0f);
+        }
+    }
+
+    public final String id;
+    public final String name;
+    public final String background;
+    public final String atlas;
+    public final String masks; // máscaras de colisão geradas junto com o atlas
+    public final float spawnIntervalMin, spawnIntervalMax;
+    public final Death death;
+    public final River river;
+
+    private final Archetype[] archetypes;
+    private final float[] cumulativeWeights; // normalizado: o último é 1
+
+    private PhaseDefinition(JsonValue json) {
+        id = json.getString("id");
+        name = json.getString("name");
+        background = json.getString("background");
+        atlas = json.getString("atlas");
+        masks = json.getString("masks", atlas.replace(".atlas", ".masks"));
+        JsonValue interval = json.get("spawnInterval");
+        spawnIntervalMin = interval.getFloat("min");
+        spawnIntervalMax = interval.getFloat("max");
+        if (spawnIntervalMin <= 0f || spawnIntervalMax < spawnIntervalMin) {
+            throw new GdxRuntimeException("Intervalo de spawn inválido em " + id + ": " + spawnIntervalMin + ".." + spawnIntervalMax);
+        }
+        death = new Death(json.get("death"));
+        river = new River(json.get("river"));
+
+        JsonValue list = json.get("obstacles");
+        if (list == null || list.size == 0) throw new GdxRuntimeException("Fase sem obstáculos: " + id);
+        archetypes = new Archetype[list.size];
+        cumulativeWeights = new float[list.size];
+        float total = 0f;
+        int i = 0;
+        for (JsonValue entry = list.child; entry != null; entry = entry.next, i++) {
+            archetypes[i] = new Archetype(entry);
+            total += archetypes[i].weight;
+            cumulativeWeights[i] = total;
+        }
+        for (i = 0; i < cumulativeWeights.length; i++) cumulativeWeights[i] /= total;
+    }
+
+    public int archetypeCount() {
+        return archetypes.length;
+    }
+
+    public Archetype archetype(int index) {
+        return archetypes[index];
+    }
+
+    // Sorteia um arquétipo pelo peso; roll em [0, 1)
+    public int pickArchetype(float roll) {
+        for (int i = 0; i < cumulativeWeights.length - 1; i++) {
+            if (roll < cumulativeWeights[i]) return i;
+        }
+        return cumulativeWeights.length - 1;
+    }
+
+    // Tudo que o GameScreen pede no show() para esta fase
+    public Array<AssetDescriptor<?>> manifest() {
+        Array<AssetDescriptor<?>> manifest = new Array<>();
+        manifest.add(new AssetDescriptor<>(background, Texture.class));
+        manifest.add(new AssetDescriptor<>(Assets.COMMON_ATLAS, TextureAtlas.class));
+        manifest.add(new AssetDescriptor<>(atlas, TextureAtlas.class));
+        return manifest;
+    }
+
+    public static PhaseDefinition load(FileHandle file) {
+        return new PhaseDefinition(new JsonReader().parse(file));
+    }
+
+    // Mesma definição a partir do texto JSON (benchmarks e fases geradas)
+    public static PhaseDefinition parse(String json) {
+        return new PhaseDefinition(new JsonReader().parse(json));
+    }
+
+    // Lê o índice (phases/index.json) e cada fase listada, na ordem do menu
+    public static Array<PhaseDefinition> loadAll(FileHandle index) {
+        JsonValue files = new JsonReader().parse(index).get("phases");
+        Array<PhaseDefinition> phases = new Array<>(files.size);
+        for (JsonValue entry = files.child; entry != null; entry = entry.next) {
+            phases.add(load(index.sibling(entry.asString())));
+        }
+        return phases;
+    }
+}
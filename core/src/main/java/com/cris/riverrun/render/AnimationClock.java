@@ -0,0 +1,61 @@
+package com.cris.riverrun.render;
+
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Um relógio por animação (arquétipo de obstáculo, barco, enfeite do menu) no
+ * lugar de um tempo por instância. As instâncias guardam só a fase: quantos
+ * frames estão adiantadas em relação ao relógio.
+ *
+ * {@link #update} resolve uma vez por frame a tabela fase -> frame mostrado;
+ * depois cada instância custa uma leitura ({@link #frame(int)}), sem divisão
+ * nem módulo. É o mesmo índice que o RiverWorld usa nas máscaras de colisão:
+ * (tempo / duração do frame + fase) % frames, em LOOP.
+ */
+public final class AnimationClock<T> {
+
+    private final Object[] frames;
+    private final Object[] table; // table[fase] = frame de quem tem essa fase
+    private final float frameDuration;
+    private int current = -1; // frame do relógio resolvido por último
+
+    public AnimationClock(float frameDuration, Array<? extends T> frames) {
+        this.frameDuration = frameDuration;
+        this.frames = new Object[frames.size];
+        for (int i = 0; i < frames.size; i++) this.frames[i] = frames.get(i);
+        this.table = new Object[frames.size];
+        update(0f);
+    }
+
+    // Acerta a tabela para o tempo da animação; só refaz quando o frame do relógio muda
+    public void update(float time) {
+        int n = frames.length;
+        if (n == 0) return;
+        int frame = n == 1 ? 0 : (int) (time / frameDuration) % n;
+        if (frame == current) return;
+        current = frame;
+        for (int phase = 0; phase < n; phase++) {
+            int index = frame + phase;
+            table[phase] = frames[index >= n ? index - n : index];
+        }
+    }
+
+    // Frame de uma instância com fase em [0, frameCount())
+    @SuppressWarnings("unchecked")
+    public T frame(int phase) {
+        return (T) table[phase];
+    }
+
+    // Frame de quem não tem fase própria
+    public T frame() {
+        return frame(0);
+    }
+
+    public int frameCount() {
+        return frames.length;
+    }
+
+    public float getFrameDuration() {
+        return frameDuration;
+    }
+}
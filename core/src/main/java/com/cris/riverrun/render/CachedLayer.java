@@ -0,0 +1,78 @@
+package com.cris.riverrun.render;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.viewport.Viewport;
+
+/**
+ * Camada parada (overlay de pause, modal do menu, tela de GAME_OVER) desenhada
+ * uma vez num {@link FrameBuffer} e depois repetida como um único quad, até
+ * alguém chamar {@link #invalidate()} ou o tamanho da viewport mudar.
+ *
+ * O FBO tem o tamanho em pixels da área da viewport, então o resultado é igual
+ * ao desenho direto. O conteúdo é gravado com alfa pré-multiplicado (o FBO
+ * começa transparente) e composto com {@code ONE, ONE_MINUS_SRC_ALPHA}, para
+ * camadas translúcidas saírem iguais às desenhadas direto na tela.
+ */
+public final class CachedLayer implements Disposable {
+
+    private FrameBuffer buffer;
+    private TextureRegion region;
+    private boolean valid;
+
+    // Refaz o conteúdo no próximo draw (mudou texto, hover, estado...)
+    public void invalidate() {
+        valid = false;
+    }
+
+    /**
+     * Desenha a camada cobrindo a viewport inteira, refazendo antes se preciso.
+     * O painter desenha em coordenadas do mundo da viewport e abre/fecha o
+     * próprio batch; ele só roda quando a camada está inválida.
+     */
+    public void draw(SpriteBatch batch, Viewport viewport, Runnable painter) {
+        int width = viewport.getScreenWidth(), height = viewport.getScreenHeight();
+        if (width <= 0 || height <= 0) return; // janela minimizada
+
+        if (buffer == null || buffer.getWidth() != width || buffer.getHeight() != height) {
+            if (buffer != null) buffer.dispose();
+            buffer = new FrameBuffer(Pixmap.Format.RGBA8888, width, height, false);
+            buffer.getColorBufferTexture().setFilter(Texture.TextureFilter.Nearest, Texture.TextureFilter.Nearest);
+            region = new TextureRegion(buffer.getColorBufferTexture());
+            region.flip(false, true);
+            valid = false;
+        }
+        if (!valid) {
+            buffer.begin();
+            Gdx.gl.glClearColor(0f, 0f, 0f, 0f);
+            Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+            // Cor pré-multiplicada e alfa acumulado certo num destino transparente
+            batch.setBlendFunctionSeparate(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA, GL20.GL_ONE, GL20.GL_ONE_MINUS_SRC_ALPHA);
+            painter.run();
+            batch.setBlendFunction(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+            buffer.end();
+            // buffer.end() volta para a janela inteira; a viewport pode ter barras
+            viewport.apply();
+            valid = true;
+        }
+
+        batch.setProjectionMatrix(viewport.getCamera().combined);
+        batch.begin();
+        batch.setBlendFunction(GL20.GL_ONE, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        batch.draw(region, 0f, 0f, viewport.getWorldWidth(), viewport.getWorldHeight());
+        batch.setBlendFunction(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        batch.end();
+    }
+
+    @Override
+    public void dispose() {
+        if (buffer != null) buffer.dispose();
+        buffer = null;
+    }
+}
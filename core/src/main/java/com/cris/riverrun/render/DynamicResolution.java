@@ -0,0 +1,121 @@
+package com.cris.riverrun.render;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.viewport.Viewport;
+
+/**
+ * Resolução dinâmica (opcional, -Driverrun.dynamicResolution=true): a cena é
+ * desenhada num FBO a uma fração do tamanho da viewport e ampliada com filtro
+ * linear; HUD e texto vêm depois, direto na tela, em resolução nativa.
+ *
+ * A fração segue o tempo de frame medido contra o orçamento: acima dele cai
+ * {@link #STEP_DOWN} na hora; no orçamento sobe {@link #STEP_UP} depois de um
+ * tempo estável. Com vsync o frame nunca fica abaixo do orçamento, então subir é
+ * sempre uma tentativa; se ela estoura logo em seguida, a espera até a próxima
+ * dobra (até {@link #MAX_HOLD}) para não ficar oscilando.
+ *
+ * O FBO tem o tamanho da viewport e a cena usa só o canto [0, w*escala], então
+ * mudar a escala não realoca nada.
+ */
+public final class DynamicResolution implements Disposable {
+
+    public static final float MIN_SCALE = 0.5f;
+    private static final float STEP_DOWN = 0.1f;
+    private static final float STEP_UP = 0.05f;
+    private static final float MIN_HOLD = 2f, MAX_HOLD = 8f; // segundos estáveis antes de subir
+    private static final float SMOOTHING = 0.1f;             // peso do frame novo na média
+
+    private final float budgetMs;
+    private float scale = 1f;
+    private float averageMs;
+    private float sinceChange, upHold = MIN_HOLD;
+    private boolean lastChangeUp;
+
+    private FrameBuffer buffer;
+    private final TextureRegion region = new TextureRegion();
+    private int sceneWidth, sceneHeight;
+
+    public DynamicResolution(float budgetMs) {
+        this.budgetMs = budgetMs;
+        this.averageMs = budgetMs;
+    }
+
+    // Ligado com -Driverrun.dynamicResolution=true; orçamento em -Driverrun.frameBudgetMs (padrão 60 Hz)
+    public static DynamicResolution fromSystemProperties() {
+        if (!Boolean.getBoolean("riverrun.dynamicResolution")) return null;
+        String budget = System.getProperty("riverrun.frameBudgetMs");
+        return new DynamicResolution(budget != null ? Float.parseFloat(budget) : 1000f / 60f);
+    }
+
+    // Um frame jogado; delta 0 (acordou de idle) e saltos longos (carga, janela arrastada) não contam
+    public void update(float delta) {
+        if (delta <= 0f || delta > 0.25f) return;
+        averageMs += (delta * 1000f - averageMs) * SMOOTHING;
+        sinceChange += delta;
+        if (averageMs > budgetMs * 1.1f && scale > MIN_SCALE) {
+            // Subida recente que não coube: espera mais antes de tentar de novo
+            if (lastChangeUp && sinceChange < upHold) upHold = Math.min(MAX_HOLD, upHold * 2f);
+            setScale(scale - STEP_DOWN, false);
+            averageMs = budgetMs; // nova medida com a escala nova
+        } else if (averageMs < budgetMs * 1.02f && scale < 1f && sinceChange >= upHold) {
+            if (!lastChangeUp) upHold = Math.max(MIN_HOLD, upHold * 0.5f);
+            setScale(scale + STEP_UP, true);
+        }
+    }
+
+    private void setScale(float value, boolean up) {
+        scale = MathUtils.clamp(value, MIN_SCALE, 1f);
+        sinceChange = 0f;
+        lastChangeUp = up;
+        Gdx.app.debug("RiverRun", "Resolução dinâmica em " + Math.round(scale * 100f) + "%");
+    }
+
+    public float getScale() {
+        return scale;
+    }
+
+    // Desvia a cena para o FBO reduzido; desenhe com a câmera da viewport normalmente
+    public void begin(Viewport viewport) {
+        int width = Math.max(1, viewport.getScreenWidth()), height = Math.max(1, viewport.getScreenHeight());
+        if (buffer == null || buffer.getWidth() != width || buffer.getHeight() != height) {
+            if (buffer != null) buffer.dispose();
+            buffer = new FrameBuffer(Pixmap.Format.RGB888, width, height, false);
+            buffer.getColorBufferTexture().setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+            region.setTexture(buffer.getColorBufferTexture());
+        }
+        sceneWidth = Math.max(1, Math.round(width * scale));
+        sceneHeight = Math.max(1, Math.round(height * scale));
+        buffer.begin();
+        Gdx.gl.glViewport(0, 0, sceneWidth, sceneHeight);
+        Gdx.gl.glClearColor(0f, 0f, 0f, 1f);
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+    }
+
+    // Volta para a tela e amplia a cena para a viewport inteira
+    public void end(SpriteBatch batch, Viewport viewport) {
+        buffer.end();
+        viewport.apply();
+        region.setRegion(0, 0, sceneWidth, sceneHeight);
+        region.flip(false, true);
+        batch.setProjectionMatrix(viewport.getCamera().combined);
+        batch.disableBlending();
+        batch.begin();
+        batch.draw(region, 0f, 0f, viewport.getWorldWidth(), viewport.getWorldHeight());
+        batch.end();
+        batch.enableBlending();
+    }
+
+    @Override
+    public void dispose() {
+        if (buffer != null) buffer.dispose();
+        buffer = null;
+    }
+}
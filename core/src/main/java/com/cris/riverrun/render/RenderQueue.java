@@ -0,0 +1,154 @@
+package com.cris.riverrun.render;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.ObjectIntMap;
+
+import java.util.Arrays;
+
+/**
+ * Fila de sprites do frame, ordenada por uma chave de 64 bits antes de desenhar:
+ * camada, textura (página do atlas), profundidade e ordem de chegada. Dentro de
+ * uma camada, sprites da mesma página saem juntos, então o batch só dá flush
+ * quando a página muda de fato, e não a cada obstáculo de outro arquétipo.
+ *
+ * Chave: camada (4 bits) | textura (12) | profundidade (20) | índice (28).
+ * A ordenação é radix LSD por bytes, pulando os bytes que não variam no frame;
+ * como os sprites chegam em ordem de índice, os bytes só de índice nunca precisam
+ * de passada. Tudo fica em arrays primitivos reaproveitados entre frames.
+ *
+ * Camadas respeitam sobreposição; dentro de uma camada, sprites de páginas
+ * diferentes que se sobrepõem podem trocar de ordem. O que precisa ficar por
+ * cima vai em outra camada.
+ */
+public final class RenderQueue {
+
+    public static final int MAX_LAYERS = 1 << 4;
+    private static final int TEXTURE_BITS = 12, DEPTH_BITS = 20, INDEX_BITS = 28;
+    private static final int DEPTH_SHIFT = INDEX_BITS;
+    private static final int TEXTURE_SHIFT = DEPTH_SHIFT + DEPTH_BITS;
+    private static final int LAYER_SHIFT = TEXTURE_SHIFT + TEXTURE_BITS;
+    private static final int MAX_DEPTH = (1 << DEPTH_BITS) - 1;
+    private static final long INDEX_MASK = (1L << INDEX_BITS) - 1;
+    // Primeiro byte que tem algo além do índice (bits 24..31: índice alto e profundidade baixa)
+    private static final int FIRST_SORTED_SHIFT = (INDEX_BITS / 8) * 8;
+    private static final int FLOATS = 5; // x, y, w, h, cor
+
+    private long[] keys, scratch;
+    private TextureRegion[] regions;
+    private float[] data;
+    private int size;
+    private boolean sorted = true;
+    private final int[] counts = new int[256];
+
+    // Id curto por textura; estável entre frames, reiniciado se encher
+    private final ObjectIntMap<Texture> textureIds = new ObjectIntMap<>();
+
+    public RenderQueue(int capacity) {
+        capacity = Math.max(16, capacity);
+        keys = new long[capacity];
+        scratch = new long[capacity];
+        regions = new TextureRegion[capacity];
+        data = new float[capacity * FLOATS];
+    }
+
+    /**
+     * Enfileira um sprite. layer em [0, MAX_LAYERS), maior por cima; depth em
+     * [0, 1], maior por cima dentro da camada e da página. color é a cor
+     * empacotada do batch (Color.toFloatBits).
+     */
+    public void submit(int layer, float depth, TextureRegion region, float x, float y, float w, float h, float color) {
+        if (size == keys.length) grow();
+        int index = size++;
+        int texture = textureId(region.getTexture());
+        int quantized = (int) (MathUtils.clamp(depth, 0f, 1f) * MAX_DEPTH);
+        keys[index] = (long) layer << LAYER_SHIFT | (long) texture << TEXTURE_SHIFT
+            | (long) quantized << DEPTH_SHIFT | index;
+        regions[index] = region;
+        int o = index * FLOATS;
+        data[o] = x;
+        data[o + 1] = y;
+        data[o + 2] = w;
+        data[o + 3] = h;
+        data[o + 4] = color;
+        sorted = false;
+    }
+
+    private int textureId(Texture texture) {
+        int id = textureIds.get(texture, -1);
+        if (id < 0) {
+            if (textureIds.size == 1 << TEXTURE_BITS) textureIds.clear();
+            id = textureIds.size;
+            textureIds.put(texture, id);
+        }
+        return id;
+    }
+
+    private void grow() {
+        int capacity = keys.length * 2;
+        if (capacity > INDEX_MASK + 1) throw new IllegalStateException("RenderQueue cheia: " + keys.length);
+        keys = Arrays.copyOf(keys, capacity);
+        scratch = new long[capacity];
+        regions = Arrays.copyOf(regions, capacity);
+        data = Arrays.copyOf(data, capacity * FLOATS);
+    }
+
+    // Radix LSD estável, um byte por passada
+    public void sort() {
+        if (sorted) return;
+        long[] from = keys, to = scratch;
+        int n = size;
+        for (int shift = FIRST_SORTED_SHIFT; shift < 64; shift += 8) {
+            Arrays.fill(counts, 0);
+            for (int i = 0; i < n; i++) counts[(int) (from[i] >>> shift) & 0xFF]++;
+            // Byte igual em todos: a passada não mudaria nada
+            if (counts[(int) (from[0] >>> shift) & 0xFF] == n) continue;
+            int sum = 0;
+            for (int d = 0; d < 256; d++) {
+                int count = counts[d];
+                counts[d] = sum;
+                sum += count;
+            }
+            for (int i = 0; i < n; i++) {
+                long key = from[i];
+                to[counts[(int) (key >>> shift) & 0xFF]++] = key;
+            }
+            long[] swap = from;
+            from = to;
+            to = swap;
+        }
+        keys = from;
+        scratch = to;
+        sorted = true;
+    }
+
+    // Ordena e desenha tudo no batch já aberto, depois esvazia a fila
+    public void draw(SpriteBatch batch) {
+        sort();
+        float previousColor = batch.getPackedColor();
+        float color = previousColor;
+        for (int i = 0; i < size; i++) {
+            int index = (int) (keys[i] & INDEX_MASK);
+            int o = index * FLOATS;
+            if (data[o + 4] != color) {
+                color = data[o + 4];
+                batch.setPackedColor(color);
+            }
+            batch.draw(regions[index], data[o], data[o + 1], data[o + 2], data[o + 3]);
+        }
+        batch.setPackedColor(previousColor);
+        clear();
+    }
+
+    public void clear() {
+        Arrays.fill(regions, 0, size, null);
+        size = 0;
+        sorted = true;
+    }
+
+    public int size() {
+        return size;
+    }
+}
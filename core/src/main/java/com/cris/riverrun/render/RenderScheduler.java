@@ -0,0 +1,62 @@
+package com.cris.riverrun.render;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.Timer;
+
+/**
+ * Decide quando desenhar: contínuo enquanto algo se move, e sob demanda quando
+ * a tela está parada (pause, GAME_OVER, menu), para não gastar CPU/GPU à toa.
+ *
+ * Fora do modo contínuo o backend só desenha quando chega input ou quando
+ * alguém pede; {@link #idle(float)} agenda esses pedidos na taxa própria do que
+ * ainda anima (ex.: o kraken do menu a ~7 fps), e 0 deixa só o input acordar.
+ * As telas chamam o modo que querem todo frame; só as mudanças custam algo.
+ */
+public final class RenderScheduler implements Disposable {
+
+    private static final float CONTINUOUS = -1f;
+
+    private float rate = CONTINUOUS;
+    private boolean woke = false;
+    private final Timer.Task tick = new Timer.Task() {
+        @Override
+        public void run() {
+            Gdx.graphics.requestRendering();
+        }
+    };
+
+    public void continuous() {
+        if (rate == CONTINUOUS) return;
+        tick.cancel();
+        rate = CONTINUOUS;
+        woke = true;
+        Gdx.graphics.setContinuousRendering(true);
+    }
+
+    // Desenha só a fps quadros por segundo (0 = só quando chegar input)
+    public void idle(float fps) {
+        if (rate == fps) return;
+        tick.cancel();
+        rate = fps;
+        Gdx.graphics.setContinuousRendering(false);
+        if (fps > 0f) Timer.schedule(tick, 1f / fps, 1f / fps);
+    }
+
+    public boolean isContinuous() {
+        return rate == CONTINUOUS;
+    }
+
+    // true uma vez, no primeiro frame contínuo depois de um período ocioso (o delta dele cobre o tempo parado)
+    public boolean consumeWake() {
+        boolean result = woke;
+        woke = false;
+        return result;
+    }
+
+    @Override
+    public void dispose() {
+        tick.cancel();
+        Gdx.graphics.setContinuousRendering(true);
+    }
+}
@@ -0,0 +1,61 @@
+package com.cris.riverrun.render;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.utils.Disposable;
+import com.cris.riverrun.phases.PhaseDefinition;
+
+/**
+ * Fundo do rio num único quad: o shader (assets/shaders/river.*) rola a
+ * textura por UV e soma as camadas da fase (profundidade, reflexos, espuma) na
+ * mesma passada, então camada nova não custa outro quad nem trabalho na CPU.
+ *
+ * Desenha dentro do begin/end do batch da tela; troca o shader só para este
+ * quad. Se o shader não compilar, volta às duas faixas de antes.
+ */
+public final class RiverRenderer implements Disposable {
+
+    private static final String VERTEX = "shaders/river.vert";
+    private static final String FRAGMENT = "shaders/river.frag";
+
+    private final Texture texture;
+    private final PhaseDefinition.River layers;
+    private final ShaderProgram shader; // null: sem shader, duas faixas
+
+    public RiverRenderer(Texture texture, PhaseDefinition.River layers) {
+        this.texture = texture;
+        this.layers = layers;
+        ShaderProgram program = new ShaderProgram(Gdx.files.internal(VERTEX), Gdx.files.internal(FRAGMENT));
+        if (!program.isCompiled()) {
+            Gdx.app.error("RiverRun", "Shader do rio não compilou, usando o fundo simples:\n" + program.getLog());
+            program.dispose();
+            program = null;
+        }
+        this.shader = program;
+    }
+
+    // scroll na mesma unidade de h (RiverWorld.getRiverScroll); speedRatio em [0, 1]
+    public void draw(SpriteBatch batch, float x, float y, float w, float h, float scroll, float speedRatio) {
+        if (shader == null) {
+            float offset = scroll % h;
+            if (offset < 0f) offset += h;
+            batch.draw(texture, x, y - offset, w, h);
+            batch.draw(texture, x, y - offset + h, w, h);
+            return;
+        }
+        // setShader já liga o programa: os uniforms valem para o quad abaixo
+        batch.setShader(shader);
+        shader.setUniformf("u_scroll", scroll / h);
+        shader.setUniformf("u_scrollSpeed", speedRatio);
+        shader.setUniformf("u_layers", layers.depth, layers.reflections, layers.foam);
+        batch.draw(texture, x, y, w, h);
+        batch.setShader(null);
+    }
+
+    @Override
+    public void dispose() {
+        if (shader != null) shader.dispose();
+    }
+}
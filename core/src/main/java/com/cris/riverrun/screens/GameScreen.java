@@ -2,98 +2,110 @@ package com.cris.riverrun.screens;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
-import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.math.MathUtils;
-import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.Input;
 import com.badlogic.gdx.InputAdapter;
 import com.cris.riverrun.RiverRunGame;
+import com.cris.riverrun.assets.Assets;
+import com.cris.riverrun.debug.RenderEvent;
+import com.cris.riverrun.debug.RiverRunEvent;
+import com.cris.riverrun.debug.UpdateEvent;
+import com.cris.riverrun.phases.PhaseDefinition;
+import com.cris.riverrun.render.AnimationClock;
+import com.cris.riverrun.render.CachedLayer;
+import com.cris.riverrun.render.RenderQueue;
+import com.cris.riverrun.render.RiverRenderer;
+import com.cris.riverrun.ui.Button;
+import com.cris.riverrun.ui.TextLine;
+import com.cris.riverrun.ui.UiRenderer;
+import com.cris.riverrun.world.FixedTimestep;
+import com.cris.riverrun.world.InputRecording;
+import com.cris.riverrun.world.InputSnapshot;
+import com.cris.riverrun.world.ObstacleStore;
+import com.cris.riverrun.world.ReplayPlayer;
+import com.cris.riverrun.world.RiverWorld;
 
 public class GameScreen implements Screen {
 
     private static final float VIRTUAL_W = 1280f;
     private static final float VIRTUAL_H = 720f;
 
+    // Onde a última corrida jogada fica gravada (abrir com -Driverrun.replay=...)
+    public static final String LAST_REPLAY = "replays/last.replay";
+
     private final RiverRunGame game;
-    private final String backgroundFile;
+    private final PhaseDefinition phase;
 
     private OrthographicCamera camera;
     private FitViewport viewport;
-    private SpriteBatch batch;
-    private ShapeRenderer shapes;
+    private SpriteBatch batch; // o do jogo, compartilhado com a UI
+    private UiRenderer ui;
     private BitmapFont font;
 
-    // Gerenciamento de Estado do Jogo
-    private enum GameState { PLAYING, DYING, GAME_OVER }
-    private GameState currentState = GameState.PLAYING;
-
-    // Enum para o tipo de animação de morte
-    private enum DeathAnimationType { KRAKEN, ROCK, ALIEN_HEAD }
+    // Simulação (sem GL); a tela só lê o estado dela para desenhar
+    private RiverWorld world;
+    private final InputSnapshot input = new InputSnapshot();
+    private FixedTimestep timestep;
+    private float alpha = 0f; // fração do próximo tick, para interpolar o desenho
 
-    private DeathAnimationType currentDeathAnimation = DeathAnimationType.KRAKEN;
+    // Corrida jogada: grava as teclas; replay: os ticks vêm da gravação
+    private final InputRecording replay;
+    private InputRecording recording;
+    private ReplayPlayer replayPlayer;
 
     private Texture river;
-    private Texture[] boatFrames;
-    private float frameDuration = 0.1f;
-    private float animationTime = 0f;
-
-    private float riverY1, riverY2;
-    private Vector2 boatPos;
-    private float boatBaseY = 120f;
-    private float boatBobTime = 0f;
-    private float boatW = 96f;
-    private float boatH = 96f;
-
-    private float boatLateralSpeed = 350f;
-    private float minScreenX = 50f;
-    private float maxScreenX;
-
-    private float cadencePower = 0f;
-    private float cadenceAccel = 1.8f;
-    private float cadenceDecay = 0.8f;
-    private float baseSpeed = 80f;
-    private float maxBoost = 140f;
-    private float scrollSpeed = 0f;
-    private float targetSpeed = 160f;
-
-    // --- VARIÁVEIS DE OBSTÁCULOS (INIMIGOS) ---
-    private Array<Obstacle> obstacles;
-    private Texture rockTexture;
-    private Texture[] tentacleFrames;
-    private Texture[] krakenFrames;
-    private Texture[] alienTentacleFrames;
-    private Texture[] alienHeadFrames;
-    private float spawnTimer = 0f;
-    private float spawnInterval = 1.5f;
-    private boolean isColliding = false;
-
-    // --- Variáveis da Animação de Morte ---
-    private float deathAnimationTime = 0f;
-
-    private float krakenDeathFrameDuration = 0.1f;
-    private int krakenTotalDeathFrames = 12;
-
-    private float rockDeathZoomDuration = 1.2f;
-
-    private float alienHeadDeathFrameDuration = 0.1f;
-    private int alienHeadTotalDeathFrames = 12;
-    // ---
+    private RiverRenderer riverRenderer;
+    private TextureAtlas commonSprites;
+    private TextureAtlas phaseSprites;
+    private AnimationClock<TextureRegion> boatClock;
+    private float frameDuration = RiverWorld.BOAT_FRAME_DURATION;
+    private float targetSpeed = 160f; // marcador de ritmo no HUD
+
+    // Sprites do frame ordenados por camada/página/profundidade (menos flushes do batch)
+    private static final int LAYER_OBSTACLES = 0, LAYER_BOAT = 1;
+    private final RenderQueue sprites = new RenderQueue(256);
+    private final float noTint = Color.WHITE.toFloatBits();
+    private final float collisionTint = new Color(1f, 0.4f, 0.4f, 1f).toFloatBits();
+
+    private Array<AnimationClock<TextureRegion>> archetypeClocks; // mesmo índice dos arquétipos da fase
+    private TextureRegion[] deathFrames; // FRAMES: sequência gigante; ZOOM: só a primeira região
 
     // PAUSE
     private boolean paused = false;
     private Button btnResume, btnSettings, btnMenu;
 
-    public GameScreen(RiverRunGame game, String backgroundFile) {
+    // Pause e GAME_OVER não mudam: o quadro inteiro fica num FBO até sair desses estados
+    private final CachedLayer frozenFrame = new CachedLayer();
+    private final Runnable drawFrame = this::drawFrame;
+    // Eventos JFR reaproveitados a cada frame (begin/end zeram a medida anterior)
+    private final UpdateEvent updateEvent = new UpdateEvent();
+    private final RenderEvent renderEvent = new RenderEvent();
+    private boolean frozen = false;
+
+    // Textos diagramados uma vez no show()
+    private TextLine gameOverText, gameOverHint, collisionText, pausedText;
+
+    public GameScreen(RiverRunGame game, PhaseDefinition phase) {
+        this(game, phase, null);
+    }
+
+    // Com replay != null a tela só reproduz a corrida gravada, em tempo real
+    public GameScreen(RiverRunGame game, PhaseDefinition phase, InputRecording replay) {
         this.game = game;
-        this.backgroundFile = backgroundFile;
+        this.phase = phase;
+        this.replay = replay;
     }
 
     @Override
@@ -104,66 +116,76 @@ public class GameScreen implements Screen {
         camera.position.set(VIRTUAL_W / 2f, VIRTUAL_H / 2f, 0);
         camera.update();
 
-        batch = new SpriteBatch();
-        shapes = new ShapeRenderer();
+        batch = game.batch;
+        ui = game.ui;
         font = new BitmapFont();
         font.getData().setScale(1.1f);
 
-        river = new Texture(backgroundFile);
+        river = game.assets.acquire(phase.background, Texture.class);
         river.setFilter(Texture.TextureFilter.Nearest, Texture.TextureFilter.Nearest);
+        riverRenderer = new RiverRenderer(river, phase.river);
 
-        // Carrega frames do barco
-        boatFrames = new Texture[4];
-        for (int i = 0; i < 4; i++) {
-            boatFrames[i] = new Texture("boat" + (i + 1) + ".png");
-        }
+        // Barco no atlas comum; obstáculos só no atlas da fase (gerados por :packTextures)
+        commonSprites = game.assets.acquire(Assets.COMMON_ATLAS, TextureAtlas.class);
+        phaseSprites = game.assets.acquire(phase.atlas, TextureAtlas.class);
 
-        // --- Carrega texturas dos obstáculos ---
-        rockTexture = new Texture("rockClear.png");
+        // Frames do barco
+        boatClock = new AnimationClock<>(frameDuration, commonSprites.findRegions("boat"));
 
-        tentacleFrames = new Texture[6];
-        for (int i = 0; i < 6; i++) {
-            tentacleFrames[i] = new Texture("tentacle" + (i + 1) + ".png");
-        }
-        krakenFrames = new Texture[12];
-        for (int i = 0; i < 12; i++) {
-            krakenFrames[i] = new Texture("kraken" + (i + 1) + ".png");
+        // --- Regiões dos obstáculos, na ordem dos arquétipos da fase (um relógio por arquétipo) ---
+        archetypeClocks = new Array<>(phase.archetypeCount());
+        for (int i = 0; i < phase.archetypeCount(); i++) {
+            PhaseDefinition.Archetype archetype = phase.archetype(i);
+            archetypeClocks.add(new AnimationClock<>(archetype.frameDuration, phaseSprites.findRegions(archetype.region)));
         }
 
-        alienTentacleFrames = new Texture[8];
-        for (int i = 0; i < 8; i++) {
-            alienTentacleFrames[i] = new Texture("alienTentacle" + (i + 1) + ".png");
-        }
-        alienHeadFrames = new Texture[12];
-        for (int i = 0; i < 12; i++) {
-            alienHeadFrames[i] = new Texture("alienHead" + (i + 1) + ".png");
-        }
+        // Animação de morte usa as regiões do mesmo atlas, indexadas diretamente
+        Array<TextureAtlas.AtlasRegion> regions = phaseSprites.findRegions(phase.death.region);
+        deathFrames = new TextureRegion[regions.size];
+        for (int i = 0; i < regions.size; i++) deathFrames[i] = regions.get(i);
         // --- Fim da carga de assets ---
 
-        obstacles = new Array<>();
-        riverY1 = 0;
-        riverY2 = VIRTUAL_H;
-        boatPos = new Vector2(VIRTUAL_W / 2f - boatW / 2f, boatBaseY);
-        maxScreenX = VIRTUAL_W - boatW - 50f;
+        if (replay != null) {
+            world = new RiverWorld(phase, replay.seed);
+            replayPlayer = new ReplayPlayer(replay, world);
+            timestep = new FixedTimestep(replay.tickRate, game.maxCatchUpSteps);
+        } else {
+            long seed = game.nextSeed();
+            world = new RiverWorld(phase, seed);
+            recording = new InputRecording(phase.id, seed, game.tickRate);
+            timestep = new FixedTimestep(game.tickRate, game.maxCatchUpSteps);
+        }
+
+        // Máscaras por pixel (geradas no build junto com os atlas) para a colisão fina
+        world.loadCollisionMasks(Gdx.files.internal(Assets.COMMON_MASKS), Gdx.files.internal(phase.masks));
 
         // Botões do PAUSE
         float bw = 380f, bh = 58f, gap = 12f;
         float cx = VIRTUAL_W / 2f;
         float baseY = VIRTUAL_H / 2f + bh;
-        btnResume   = new Button(cx - bw/2f, baseY,               bw, bh, "Retomar");
-        btnSettings = new Button(cx - bw/2f, baseY - (bh+gap),    bw, bh, "Configurações");
-        btnMenu     = new Button(cx - bw/2f, baseY - 2*(bh+gap),  bw, bh, "Voltar ao Menu");
+        btnResume   = new Button(cx - bw/2f, baseY,               bw, bh, font, "Retomar");
+        btnSettings = new Button(cx - bw/2f, baseY - (bh+gap),    bw, bh, font, "Configurações");
+        btnMenu     = new Button(cx - bw/2f, baseY - 2*(bh+gap),  bw, bh, font, "Voltar ao Menu");
+
+        gameOverText  = new TextLine(font, "GAME OVER");
+        gameOverHint  = new TextLine(font, "Pressione ENTER para voltar ao menu");
+        collisionText = new TextLine(font, "COLISÃO!");
+        pausedText    = new TextLine(font, "Pausado");
 
         // Input Processor unificado
         Gdx.input.setInputProcessor(new InputAdapter() {
 
             @Override
             public boolean keyDown(int keycode) {
-                if (keycode == Input.Keys.ESCAPE && currentState != GameState.GAME_OVER) {
-                    paused = !paused;
+                if (keycode == Input.Keys.F3) {
+                    game.perf.toggle();
+                    return true;
+                }
+                if (keycode == Input.Keys.ESCAPE && world.getState() != RiverWorld.State.GAME_OVER) {
+                    setPaused(!paused);
                     return true;
                 }
-                if (currentState == GameState.GAME_OVER) {
+                if (world.getState() == RiverWorld.State.GAME_OVER) {
                     if (keycode == Input.Keys.ENTER || keycode == Input.Keys.SPACE) {
                         game.setScreen(new MenuScreen(game));
                         return true;
@@ -178,7 +200,7 @@ public class GameScreen implements Screen {
                 com.badlogic.gdx.math.Vector3 v = new com.badlogic.gdx.math.Vector3(screenX, screenY, 0);
                 camera.unproject(v);
 
-                if (btnResume.hit(v.x, v.y))   { paused = false; return true; }
+                if (btnResume.hit(v.x, v.y))   { setPaused(false); return true; }
                 if (btnSettings.hit(v.x, v.y)) { /* ... */ return true; }
                 if (btnMenu.hit(v.x, v.y))     { game.setScreen(new MenuScreen(game)); return true; }
 
@@ -188,342 +210,234 @@ public class GameScreen implements Screen {
     }
 
 
-    // Loop de update principal (baseado em estado)
-    private void update(float delta) {
-        if (paused) return;
-
-        switch (currentState) {
-            case PLAYING:
-                updatePlaying(delta);
-                break;
-            case DYING:
-                updateDying(delta);
-                break;
-            case GAME_OVER:
-                updateGameOver(delta);
-                break;
-        }
+    private void setPaused(boolean paused) {
+        this.paused = paused;
+        // Sem compensar o tempo parado ao voltar
+        timestep.reset();
     }
 
-    // Lógica do jogo rodando
-    private void updatePlaying(float delta) {
-        // --- 1. Movimento (Vertical e Lateral) ---
-        if (Gdx.input.isKeyPressed(Input.Keys.UP)) cadencePower += cadenceAccel * delta;
-        else cadencePower -= cadenceDecay * delta;
-        cadencePower = MathUtils.clamp(cadencePower, 0f, 1f);
-        scrollSpeed = baseSpeed + maxBoost * cadencePower;
-        riverY1 -= scrollSpeed * delta;
-        riverY2 -= scrollSpeed * delta;
-        if (riverY1 <= -VIRTUAL_H) riverY1 = riverY2 + VIRTUAL_H;
-        if (riverY2 <= -VIRTUAL_H) riverY2 = riverY1 + VIRTUAL_H;
-
-        if (Gdx.input.isKeyPressed(Input.Keys.LEFT)) boatPos.x -= boatLateralSpeed * delta;
-        if (Gdx.input.isKeyPressed(Input.Keys.RIGHT)) boatPos.x += boatLateralSpeed * delta;
-        boatPos.x = MathUtils.clamp(boatPos.x, minScreenX, maxScreenX);
-
-        boatBobTime += delta * 2f;
-        boatPos.y = boatBaseY + MathUtils.sin(boatBobTime) * 4f;
-        animationTime += delta;
-
-        // --- 2. Geração de Obstáculos ---
-        spawnTimer -= delta;
-        if (spawnTimer <= 0) {
-            spawnObstacle();
-            spawnInterval = MathUtils.random(1.0f, 2.0f);
-            spawnTimer = spawnInterval;
+    // Loop de update principal: lê o teclado e avança a simulação em ticks de passo fixo
+    private void update(float delta) {
+        if (paused) {
+            timestep.reset();
+            return;
         }
 
-        // --- 3. Movimento e Colisão de Obstáculos ---
-        isColliding = false;
-        for (int i = obstacles.size - 1; i >= 0; i--) {
-            Obstacle o = obstacles.get(i);
-            o.update(delta);
-            o.pos.y -= scrollSpeed * delta;
-
-            // Checa colisão
-            if (checkCollision(o)) {
-                isColliding = true;
-                if (currentState == GameState.PLAYING) {
-                    currentState = GameState.DYING;
-                    deathAnimationTime = 0f;
-
-                    // Define qual animação de morte usar
-                    if (backgroundFile.equals("ClearRiver.png")) {
-                        currentDeathAnimation = DeathAnimationType.ROCK;
-                    } else if (backgroundFile.equals("DarkRiver.png")) {
-                        currentDeathAnimation = DeathAnimationType.KRAKEN;
-                    } else if (backgroundFile.equals("RedRiver.png")) {
-                        currentDeathAnimation = DeathAnimationType.ALIEN_HEAD;
-                    } else {
-                        currentDeathAnimation = DeathAnimationType.KRAKEN; // Padrão
-                    }
-                    return;
-                }
+        UpdateEvent event = updateEvent;
+        event.begin();
+        int steps = timestep.advance(delta);
+        if (replayPlayer != null) {
+            // Depois do fim da gravação o mundo segue sem teclas (termina a animação de morte)
+            for (int i = 0; i < steps; i++) {
+                if (!replayPlayer.step()) world.step(input.clear(), timestep.getStep());
             }
-            // Remove se saiu da tela
-            if (o.pos.y + o.height < 0) {
-                obstacles.removeIndex(i);
+        } else {
+            input.set(Gdx.input.isKeyPressed(Input.Keys.UP),
+                Gdx.input.isKeyPressed(Input.Keys.LEFT),
+                Gdx.input.isKeyPressed(Input.Keys.RIGHT),
+                Gdx.input.isKeyPressed(Input.Keys.ESCAPE));
+            for (int i = 0; i < steps; i++) {
+                // Grava até o GAME_OVER; dali em diante os ticks não mudam mais nada
+                if (world.getState() == RiverWorld.State.GAME_OVER) {
+                    saveRecording();
+                    break;
+                }
+                recording.record(input);
+                world.step(input, timestep.getStep());
             }
+            // Em GAME_OVER a tela para de pedir frames: salva já, sem esperar outro tick
+            if (world.getState() == RiverWorld.State.GAME_OVER) saveRecording();
         }
+        alpha = timestep.alpha();
+        event.end();
+        if (event.shouldCommit()) event.commit(steps);
     }
 
-    // Lógica da animação de morte
-    private void updateDying(float delta) {
-        deathAnimationTime += delta;
-
-        if (currentDeathAnimation == DeathAnimationType.KRAKEN) {
-            float totalAnimationDuration = krakenTotalDeathFrames * krakenDeathFrameDuration;
-            if (deathAnimationTime >= totalAnimationDuration) {
-                currentState = GameState.GAME_OVER;
-            }
-        } else if (currentDeathAnimation == DeathAnimationType.ROCK) {
-            if (deathAnimationTime >= rockDeathZoomDuration) {
-                currentState = GameState.GAME_OVER;
-            }
-        } else if (currentDeathAnimation == DeathAnimationType.ALIEN_HEAD) {
-            float totalAnimationDuration = alienHeadTotalDeathFrames * alienHeadDeathFrameDuration;
-            if (deathAnimationTime >= totalAnimationDuration) {
-                currentState = GameState.GAME_OVER;
-            }
+    // Salva a corrida jogada uma única vez (no GAME_OVER ou ao sair da tela no meio)
+    private void saveRecording() {
+        if (recording == null || recording.tickCount() == 0) return;
+        try {
+            recording.write(Gdx.files.local(LAST_REPLAY));
+            Gdx.app.log("RiverRun", "Replay salvo em " + LAST_REPLAY + " (" + recording.tickCount() + " ticks)");
+        } catch (GdxRuntimeException e) {
+            Gdx.app.error("RiverRun", "Não foi possível salvar o replay", e);
         }
-    }
-
-    // Lógica da tela de Game Over
-    private void updateGameOver(float delta) {
-        // Input é gerenciado pelo InputProcessor
+        recording = null;
     }
 
 
     // Loop de renderização principal
     @Override
     public void render(float delta) {
+        // Pause e GAME_OVER são telas paradas: só desenha de novo quando chegar input
+        if (paused || world.getState() == RiverWorld.State.GAME_OVER) game.scheduler.idle(0f);
+        else game.scheduler.continuous();
+        if (game.scheduler.consumeWake()) delta = 0f;
+        game.perf.beginFrame(delta);
+        RiverRunEvent.setContext(phase.id, world.getState().name(), world.getObstacleCount());
         update(delta);
+        game.perf.endUpdate();
+        RenderEvent event = renderEvent;
+        event.begin();
 
         Gdx.gl.glClearColor(0, 0, 0, 1);
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
         Gdx.gl.glEnable(GL20.GL_BLEND);
         Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
 
+        boolean nowFrozen = paused || world.getState() == RiverWorld.State.GAME_OVER;
+        if (nowFrozen && !frozen) frozenFrame.invalidate();
+        frozen = nowFrozen;
+        if (frozen) {
+            frozenFrame.draw(batch, viewport, drawFrame);
+        } else {
+            if (game.resolution != null) game.resolution.update(delta);
+            drawFrame();
+        }
+
+        game.perf.endRender(world.getObstacleCount());
+        event.end();
+        if (event.shouldCommit()) event.commit("GameScreen");
+        game.perf.draw(game.batch);
+    }
+
+    // Quadro completo: rio, obstáculos/barco ou morte, e a UI por cima
+    private void drawFrame() {
+        // Cena em resolução dinâmica; o quadro parado sai uma vez só, em resolução cheia
+        boolean scaled = game.resolution != null && !frozen;
+        if (scaled) game.resolution.begin(viewport);
         batch.setProjectionMatrix(camera.combined);
-        shapes.setProjectionMatrix(camera.combined);
 
         // Desenha o fundo (rio)
         batch.begin();
-        batch.draw(river, 0, riverY1, VIRTUAL_W, VIRTUAL_H);
-        batch.draw(river, 0, riverY2, VIRTUAL_W, VIRTUAL_H);
+        float speedRatio = MathUtils.clamp((world.getScrollSpeed() - world.getBaseSpeed()) / world.getMaxBoost(), 0f, 1f);
+        riverRenderer.draw(batch, 0, 0, VIRTUAL_W, VIRTUAL_H, world.getRiverScroll(alpha), speedRatio);
 
         // Desenha os elementos do jogo baseado no estado
-        switch (currentState) {
+        switch (world.getState()) {
             case PLAYING:
-                for (Obstacle o : obstacles) {
-                    batch.draw(o.getTexture(), o.pos.x, o.pos.y, o.width, o.height);
+                // Tabelas de frame uma vez por frame; cada obstáculo só lê a da sua fase
+                for (int i = 0; i < archetypeClocks.size; i++) archetypeClocks.get(i).update(world.getTime());
+                boatClock.update(world.getAnimationTime());
+
+                // Só o trecho da fila que cai dentro da tela; os mais baixos na tela ficam por cima
+                ObstacleStore obstacles = world.getObstacles();
+                int end = world.endVisibleObstacle(alpha);
+                for (int i = world.firstVisibleObstacle(alpha); i < end; i++) {
+                    float y = world.getObstacleY(i, alpha);
+                    sprites.submit(LAYER_OBSTACLES, 1f - y / VIRTUAL_H, frameOf(obstacles, i),
+                        obstacles.x(i), y, obstacles.width(i), obstacles.height(i), noTint);
                 }
-                int frameIndex = (int)(animationTime / frameDuration) % boatFrames.length;
-                if (isColliding) batch.setColor(1f, 0.4f, 0.4f, 1f);
-                batch.draw(boatFrames[frameIndex], boatPos.x, boatPos.y, boatW, boatH);
-                batch.setColor(1f, 1f, 1f, 1f);
+                sprites.submit(LAYER_BOAT, 0f, boatClock.frame(),
+                    world.getBoatX(alpha), world.getBoatY(alpha), world.getBoatWidth(), world.getBoatHeight(),
+                    world.isColliding() ? collisionTint : noTint);
+                sprites.draw(batch);
                 break;
 
             case DYING:
-                // Desenha a animação de morte correta
-                if (currentDeathAnimation == DeathAnimationType.KRAKEN) {
-                    drawGiantKrakenAnimation();
-                } else if (currentDeathAnimation == DeathAnimationType.ROCK) {
-                    drawRockZoomAnimation();
-                } else if (currentDeathAnimation == DeathAnimationType.ALIEN_HEAD) {
-                    drawGiantAlienHeadAnimation();
-                }
+                drawDeathAnimation(world.getDeathTime());
                 break;
 
             case GAME_OVER:
                 // Desenha o frame final da animação de morte
-                if (currentDeathAnimation == DeathAnimationType.KRAKEN) {
-                    drawGiantKrakenFrame(krakenTotalDeathFrames - 1);
-                } else if (currentDeathAnimation == DeathAnimationType.ROCK) {
-                    drawRockZoomFrame(rockDeathZoomDuration);
-                } else if (currentDeathAnimation == DeathAnimationType.ALIEN_HEAD) {
-                    drawGiantAlienHeadFrame(alienHeadTotalDeathFrames - 1);
-                }
-                drawGameOverUI();
+                drawDeathAnimation(world.getDeathDuration());
                 break;
         }
 
         batch.end();
+        if (scaled) game.resolution.end(batch, viewport);
 
-        if (currentState == GameState.PLAYING) {
+        // HUD ou GAME OVER num begin/end do mesmo batch, em resolução nativa
+        ui.begin(camera.combined);
+        if (world.getState() == RiverWorld.State.PLAYING) {
             drawHUD();
+        } else if (world.getState() == RiverWorld.State.GAME_OVER) {
+            drawGameOverUI();
         }
+        ui.end();
 
+        // O pause escurece o texto do HUD, então vai noutro begin/end (o UiRenderer
+        // emite o texto depois dos retângulos do mesmo passe)
         if (paused) {
-            shapes.setProjectionMatrix(camera.combined);
-            batch.setProjectionMatrix(camera.combined);
+            ui.begin(camera.combined);
             drawPauseUI();
+            ui.end();
         }
     }
 
-    // --- Funções de Desenho das Animações de Morte ---
-
-    private void drawGiantKrakenAnimation() {
-        if (krakenFrames == null || krakenFrames.length == 0) return;
-        int frameIndex = (int)(deathAnimationTime / krakenDeathFrameDuration) % krakenTotalDeathFrames;
-        drawGiantKrakenFrame(frameIndex);
+    // Frame atual de um obstáculo: uma leitura na tabela do relógio do arquétipo
+    private TextureRegion frameOf(ObstacleStore obstacles, int i) {
+        return archetypeClocks.get(obstacles.archetype(i)).frame(obstacles.phase(i));
     }
 
-    private void drawGiantKrakenFrame(int frameIndex) {
-        if (frameIndex < 0 || frameIndex >= krakenFrames.length) {
-            frameIndex = krakenFrames.length - 1;
-        }
-        Texture frame = krakenFrames[frameIndex];
-        float giantW = 512f;
-        float giantH = 512f;
-        float giantX = (VIRTUAL_W - giantW) / 2f;
-        float giantY = (VIRTUAL_H - giantH) / 2f;
-        batch.draw(frame, giantX, giantY, giantW, giantH);
-    }
-
-    private void drawRockZoomAnimation() {
-        drawRockZoomFrame(deathAnimationTime);
-    }
-
-    private void drawRockZoomFrame(float time) {
-        if (rockTexture == null) return;
-        float progress = MathUtils.clamp(time / rockDeathZoomDuration, 0f, 1f);
-        float startSize = 50f;
-        float maxSize = 600f;
-        float currentSize = MathUtils.lerp(startSize, maxSize, progress);
-        float rockX = (VIRTUAL_W - currentSize) / 2f;
-        float rockY = (VIRTUAL_H - currentSize) / 2f;
-        batch.draw(rockTexture, rockX, rockY, currentSize, currentSize);
-    }
+    // --- Funções de Desenho das Animações de Morte ---
 
-    private void drawGiantAlienHeadAnimation() {
-        if (alienHeadFrames == null || alienHeadFrames.length == 0) return;
-        int frameIndex = (int)(deathAnimationTime / alienHeadDeathFrameDuration) % alienHeadTotalDeathFrames;
-        drawGiantAlienHeadFrame(frameIndex);
+    private void drawDeathAnimation(float time) {
+        if (deathFrames.length == 0) return;
+        if (phase.death.type == PhaseDefinition.DeathType.FRAMES) {
+            drawGiantFrame((int)(time / phase.death.frameDuration));
+        } else {
+            drawZoomFrame(time);
+        }
     }
 
-    private void drawGiantAlienHeadFrame(int frameIndex) {
-        if (frameIndex < 0 || frameIndex >= alienHeadFrames.length) {
-            frameIndex = alienHeadFrames.length - 1;
+    private void drawGiantFrame(int frameIndex) {
+        if (frameIndex < 0 || frameIndex >= deathFrames.length) {
+            frameIndex = deathFrames.length - 1;
         }
-        Texture frame = alienHeadFrames[frameIndex];
-        float giantW = 512f; // Mesmo tamanho do Kraken
-        float giantH = 512f;
+        TextureRegion frame = deathFrames[frameIndex];
+        float giantW = phase.death.size;
+        float giantH = phase.death.size;
         float giantX = (VIRTUAL_W - giantW) / 2f;
         float giantY = (VIRTUAL_H - giantH) / 2f;
         batch.draw(frame, giantX, giantY, giantW, giantH);
     }
 
-    private void drawGameOverUI() {
-        GlyphLayout gl = new GlyphLayout(font, "GAME OVER");
-        font.draw(batch, gl, (VIRTUAL_W - gl.width)/2f, VIRTUAL_H / 2f + gl.height + 20f);
-        GlyphLayout gl2 = new GlyphLayout(font, "Pressione ENTER para voltar ao menu");
-        font.draw(batch, gl2, (VIRTUAL_W - gl2.width)/2f, VIRTUAL_H / 2f - 20f);
+    private void drawZoomFrame(float time) {
+        float progress = MathUtils.clamp(time / phase.death.duration, 0f, 1f);
+        float currentSize = MathUtils.lerp(phase.death.startSize, phase.death.endSize, progress);
+        float zoomX = (VIRTUAL_W - currentSize) / 2f;
+        float zoomY = (VIRTUAL_H - currentSize) / 2f;
+        batch.draw(deathFrames[0], zoomX, zoomY, currentSize, currentSize);
     }
 
-    // --- Funções Principais de Lógica ---
-
-    private void spawnObstacle() {
-        float x, y, w, h;
-        y = VIRTUAL_H;
-
-        if (backgroundFile.equals("ClearRiver.png")) {
-            w = MathUtils.random(40f, 60f);
-            h = MathUtils.random(40f, 60f);
-            x = MathUtils.random(minScreenX, maxScreenX);
-            obstacles.add(new Obstacle(rockTexture, x, y, w, h));
-
-        } else if (backgroundFile.equals("DarkRiver.png")) {
-            if (MathUtils.randomBoolean()) {
-                w = 96f; h = 96f;
-                x = MathUtils.random(minScreenX, maxScreenX);
-                obstacles.add(new Obstacle(krakenFrames, x, y, w, h));
-            } else {
-                w = 96f; h = 96f;
-                x = MathUtils.random(minScreenX, maxScreenX);
-                obstacles.add(new Obstacle(tentacleFrames, x, y, w, h));
-            }
-
-        } else if (backgroundFile.equals("RedRiver.png")) {
-            if (MathUtils.randomBoolean()) {
-                w = 128f; h = 128f;
-                x = MathUtils.random(minScreenX, maxScreenX - 32f);
-                obstacles.add(new Obstacle(alienHeadFrames, x, y, w, h));
-            } else {
-                w = 96f; h = 96f;
-                x = MathUtils.random(minScreenX, maxScreenX);
-                obstacles.add(new Obstacle(alienTentacleFrames, x, y, w, h));
-            }
-        }
-    }
-
-    private boolean checkCollision(Obstacle o) {
-        return boatPos.x < o.pos.x + o.width &&
-            boatPos.x + boatW > o.pos.x &&
-            boatPos.y < o.pos.y + o.height &&
-            boatPos.y + boatH > o.pos.y;
+    private void drawGameOverUI() {
+        ui.textCentered(gameOverText, VIRTUAL_W / 2f, VIRTUAL_H / 2f + gameOverText.height() + 20f);
+        ui.textCentered(gameOverHint, VIRTUAL_W / 2f, VIRTUAL_H / 2f - 20f);
     }
 
     // --- Funções de Desenho da UI ---
 
     private void drawHUD() {
         float barW = 160f, barH = 10f, pad = 8f;
-        float speedRatio  = MathUtils.clamp((scrollSpeed - baseSpeed) / maxBoost, 0f, 1f);
+        float baseSpeed = world.getBaseSpeed(), maxBoost = world.getMaxBoost();
+        float speedRatio  = MathUtils.clamp((world.getScrollSpeed() - baseSpeed) / maxBoost, 0f, 1f);
         float targetRatio = MathUtils.clamp((targetSpeed - baseSpeed) / maxBoost, 0f, 1f);
 
-        shapes.begin(ShapeRenderer.ShapeType.Filled);
-        shapes.setColor(0.1f, 0.1f, 0.1f, 1f);
-        shapes.rect(pad, VIRTUAL_H - pad - barH, barW, barH);
-        shapes.setColor(0.2f, 0.7f, 1f, 1f);
-        shapes.rect(pad, VIRTUAL_H - pad - barH, barW * speedRatio, barH);
-        shapes.setColor(1f, 1f, 1f, 1f);
-        shapes.rect(pad + barW * targetRatio - 1f, VIRTUAL_H - pad - barH, 2f, barH);
-        shapes.end();
-
-        if (isColliding && currentState == GameState.PLAYING) {
-            batch.begin();
-            GlyphLayout gl = new GlyphLayout(font, "COLISÃO!");
-            font.draw(batch, gl, VIRTUAL_W / 2f - gl.width / 2f, VIRTUAL_H - 50f);
-            batch.end();
+        ui.rect(pad, VIRTUAL_H - pad - barH, barW, barH, 0.1f, 0.1f, 0.1f, 1f);
+        ui.rect(pad, VIRTUAL_H - pad - barH, barW * speedRatio, barH, 0.2f, 0.7f, 1f, 1f);
+        ui.rect(pad + barW * targetRatio - 1f, VIRTUAL_H - pad - barH, 2f, barH, 1f, 1f, 1f, 1f);
+
+        if (world.isColliding()) {
+            ui.textCentered(collisionText, VIRTUAL_W / 2f, VIRTUAL_H - 50f);
         }
     }
 
     private void drawPauseUI() {
-        shapes.begin(ShapeRenderer.ShapeType.Filled);
-        shapes.setColor(0, 0, 0, 0.55f);
-        shapes.rect(0, 0, VIRTUAL_W, VIRTUAL_H);
+        ui.rect(0, 0, VIRTUAL_W, VIRTUAL_H, 0f, 0f, 0f, 0.55f);
         float cardW = 640f, cardH = 360f;
         float cardX = (VIRTUAL_W - cardW)/2f, cardY = (VIRTUAL_H - cardH)/2f;
-        shapes.setColor(0.10f, 0.13f, 0.17f, 1f);
-        shapes.rect(cardX, cardY, cardW, cardH);
-        shapes.setColor(0.18f, 0.22f, 0.28f, 1f);
-        shapes.rect(cardX-4, cardY-4, cardW+8, 4);
-        shapes.rect(cardX-4, cardY+cardH, cardW+8, 4);
-        shapes.rect(cardX-4, cardY, 4, cardH);
-        shapes.rect(cardX+cardW, cardY, 4, cardH);
-        shapes.end();
-        batch.begin();
-        GlyphLayout gl = new GlyphLayout(font, "Pausado");
-        font.draw(batch, gl, (VIRTUAL_W - gl.width)/2f, cardY + cardH - 18f);
-        batch.end();
+        ui.rect(cardX, cardY, cardW, cardH, 0.10f, 0.13f, 0.17f, 1f);
+        ui.border(cardX, cardY, cardW, cardH, 4f, 0.18f, 0.22f, 0.28f, 1f);
+        ui.textCentered(pausedText, VIRTUAL_W / 2f, cardY + cardH - 18f);
         drawButton(btnResume);
         drawButton(btnSettings);
         drawButton(btnMenu);
     }
 
     private void drawButton(Button b) {
-        shapes.begin(ShapeRenderer.ShapeType.Filled);
-        shapes.setColor(0, 0, 0, 0.35f);
-        shapes.rect(b.x + 3, b.y - 3, b.w, b.h);
-        shapes.setColor(0.12f, 0.16f, 0.20f, 1f);
-        shapes.rect(b.x, b.y, b.w, b.h);
-        shapes.setColor(1f, 1f, 1f, 0.06f);
-        shapes.rect(b.x, b.y + b.h - 4, b.w, 4);
-        shapes.end();
-        batch.begin();
-        GlyphLayout gl = new GlyphLayout(font, b.label);
-        font.draw(batch, gl, b.x + (b.w - gl.width)/2f, b.y + (b.h + gl.height)/2f);
-        batch.end();
+        ui.buttonBody(b);
+        ui.textCentered(b.label, b.x + b.w / 2f, b.y + (b.h + b.label.height()) / 2f);
     }
 
     // --- Métodos do ciclo de vida da tela ---
@@ -535,90 +449,14 @@ public class GameScreen implements Screen {
 
     @Override
     public void dispose() {
-        batch.dispose();
-        shapes.dispose();
-        river.dispose();
-
-        if (boatFrames != null) {
-            for (Texture frame : boatFrames) {
-                if (frame != null) frame.dispose();
-            }
-        }
-
-        // Limpa todos os assets de obstáculos
-        rockTexture.dispose();
-
-        if (tentacleFrames != null) {
-            for (Texture frame : tentacleFrames) {
-                if (frame != null) frame.dispose();
-            }
-        }
-        if (krakenFrames != null) {
-            for (Texture frame : krakenFrames) {
-                if (frame != null) frame.dispose();
-            }
-        }
-        if (alienTentacleFrames != null) {
-            for (Texture frame : alienTentacleFrames) {
-                if (frame != null) frame.dispose();
-            }
-        }
-        if (alienHeadFrames != null) {
-            for (Texture frame : alienHeadFrames) {
-                if (frame != null) frame.dispose();
-            }
+        saveRecording();
+        // Texturas são do cache compartilhado: só devolve as referências
+        for (AssetDescriptor<?> asset : phase.manifest()) {
+            game.assets.release(asset.fileName);
         }
 
+        frozenFrame.dispose();
+        riverRenderer.dispose();
         font.dispose();
     }
-
-    // --- Classes Internas ---
-
-    private static class Button {
-        float x, y, w, h;
-        String label;
-        Button(float x, float y, float w, float h, String l) { this.x=x; this.y=y; this.w=w; this.h=h; this.label=l; }
-        boolean hit(float px, float py) { return px>=x && px<=x+w && py>=y && py<=y+h; }
-    }
-
-    private static class Obstacle {
-        Vector2 pos;
-        float width, height;
-        Texture texture;
-        Texture[] frames;
-        float animationTime = 0f;
-        float frameDuration = 0.15f;
-
-        Obstacle(Texture texture, float x, float y, float w, float h) {
-            this.texture = texture;
-            this.frames = null;
-            this.pos = new Vector2(x, y);
-            this.width = w;
-            this.height = h;
-        }
-
-        Obstacle(Texture[] frames, float x, float y, float w, float h) {
-            this.texture = null;
-            this.frames = frames;
-            this.pos = new Vector2(x, y);
-            this.width = w;
-            this.height = h;
-            this.animationTime = MathUtils.random(0f, frames.length * frameDuration);
-        }
-
-        public void update(float delta) {
-            if (frames != null) {
-                animationTime += delta;
-            }
-        }
-
-        public Texture getTexture() {
-            if (frames != null) {
-                int frameIndex = (int)(animationTime / frameDuration) % frames.length;
-                return frames[frameIndex];
-            } else {
-                return texture;
-            }
-        }
-    }
 }
@@ -0,0 +1,114 @@
+package com.cris.riverrun.screens;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.viewport.FitViewport;
+import com.cris.riverrun.RiverRunGame;
+import com.cris.riverrun.debug.RiverRunEvent;
+import com.cris.riverrun.phases.PhaseDefinition;
+import com.cris.riverrun.ui.TextLine;
+import com.cris.riverrun.ui.UiRenderer;
+import com.cris.riverrun.world.InputRecording;
+
+// Tela intermediária entre o menu e o jogo: carrega os assets da fase sem travar o frame
+public class LoadingScreen implements Screen {
+
+    private static final float VIRTUAL_W = 1280f;
+    private static final float VIRTUAL_H = 720f;
+
+    private final RiverRunGame game;
+    private final PhaseDefinition phase;
+    private final InputRecording replay; // null numa corrida normal
+
+    private OrthographicCamera camera;
+    private FitViewport viewport;
+    private BitmapFont font;
+    private TextLine label;
+
+    private Array<AssetDescriptor<?>> manifest;
+    private boolean started = false;
+
+    public LoadingScreen(RiverRunGame game, PhaseDefinition phase) {
+        this(game, phase, null);
+    }
+
+    public LoadingScreen(RiverRunGame game, PhaseDefinition phase, InputRecording replay) {
+        this.game = game;
+        this.phase = phase;
+        this.replay = replay;
+    }
+
+    @Override
+    public void show() {
+        camera = new OrthographicCamera();
+        viewport = new FitViewport(VIRTUAL_W, VIRTUAL_H, camera);
+        viewport.apply(true);
+        camera.position.set(VIRTUAL_W / 2f, VIRTUAL_H / 2f, 0);
+        camera.update();
+
+        font = new BitmapFont();
+        font.getData().setScale(1.1f);
+        label = new TextLine(font, "Carregando...");
+
+        // Segura as referências até o GameScreen pedir os mesmos assets no show()
+        manifest = phase.manifest();
+        for (AssetDescriptor<?> asset : manifest) {
+            game.assets.acquireAsync(asset);
+        }
+        Gdx.input.setInputProcessor(null);
+    }
+
+    @Override
+    public void render(float delta) {
+        game.scheduler.continuous();
+        RiverRunEvent.setContext(phase.id, "LOADING", 0);
+        // Decodificação em thread de carga; upload limitado pelo orçamento do frame
+        game.assets.update();
+        float progress = progress();
+
+        Gdx.gl.glClearColor(0.05f, 0.07f, 0.09f, 1f);
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+
+        float barW = 480f, barH = 14f;
+        float barX = (VIRTUAL_W - barW) / 2f, barY = VIRTUAL_H / 2f - 30f;
+        UiRenderer ui = game.ui;
+        ui.begin(camera.combined);
+        ui.rect(barX, barY, barW, barH, 0.12f, 0.16f, 0.20f, 1f);
+        ui.rect(barX, barY, barW * progress, barH, 0.2f, 0.7f, 1f, 1f);
+        ui.textCentered(label, VIRTUAL_W / 2f, barY + barH + 40f);
+        ui.end();
+
+        // Troca de tela quando o manifesto da fase está residente (prefetches de outras fases
+        // podem seguir na fila) e depois de exibir ao menos um frame
+        if (started && progress >= 1f) {
+            game.setScreen(new GameScreen(game, phase, replay));
+        }
+        started = true;
+    }
+
+    private float progress() {
+        int loaded = 0;
+        for (int i = 0; i < manifest.size; i++) {
+            if (game.assets.isLoaded(manifest.get(i).fileName)) loaded++;
+        }
+        return manifest.size == 0 ? 1f : loaded / (float) manifest.size;
+    }
+
+    @Override public void resize(int w, int h) { viewport.update(w, h, true); }
+    @Override public void pause() {}
+    @Override public void resume() {}
+    @Override public void hide() { dispose(); }
+
+    @Override
+    public void dispose() {
+        font.dispose();
+        for (AssetDescriptor<?> asset : manifest) {
+            game.assets.release(asset.fileName);
+        }
+    }
+}
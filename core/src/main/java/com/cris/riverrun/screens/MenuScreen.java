@@ -4,16 +4,25 @@ import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
 import com.badlogic.gdx.InputAdapter;
 import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.assets.AssetDescriptor;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
-import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.cris.riverrun.RiverRunGame;
-import com.badlogic.gdx.math.MathUtils;
+import com.cris.riverrun.debug.RenderEvent;
+import com.cris.riverrun.debug.RiverRunEvent;
+import com.cris.riverrun.phases.PhaseDefinition;
+import com.cris.riverrun.render.AnimationClock;
+import com.cris.riverrun.render.CachedLayer;
+import com.cris.riverrun.ui.Button;
+import com.cris.riverrun.ui.TextLine;
+import com.cris.riverrun.ui.UiRenderer;
+import com.badlogic.gdx.math.RandomXS128;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.Array;
 
@@ -22,34 +31,45 @@ public class MenuScreen implements Screen {
     private static final float VIRTUAL_W = 1280f;
     private static final float VIRTUAL_H = 720f;
 
+    // Enfeites do menu e miniaturas das fases (gerado pelo :packTextures); os atlas das
+    // fases ficam de fora, para o prefetch da fase sob o mouse ter o que carregar
+    private static final String MENU_ATLAS = "atlas/menu.atlas";
+
     private final RiverRunGame game;
 
     private OrthographicCamera camera;
     private FitViewport viewport;
-    private SpriteBatch batch;
-    private ShapeRenderer shapes;
+    private SpriteBatch batch; // o do jogo, compartilhado com a UI
+    private UiRenderer ui;
     private BitmapFont font;
 
     // assets de UI
-    private Texture riverClear, riverDark, riverRed;
+    private TextureRegion[] previews; // miniatura do fundo de cada fase, na ordem de game.phases
     private Texture titulo;
     private Texture selectedBg; // O fundo do rio escolhido
+    private String selectedBgPath;
 
-    // Assets de cenário do menu
-    private Texture rockTexture;
-    private Texture[] krakenFrames;
-    private Texture[] alienHeadFrames;
+    // Assets de cenário do menu (regiões dos atlas das fases)
+    private TextureRegion rockTexture;
+    private AnimationClock<TextureRegion> krakenClock;
+    private AnimationClock<TextureRegion> alienHeadClock;
 
-    private float krakenAnimationTime = 0f;
-    private float alienHeadAnimationTime = 0f;
+    private float animationTime = 0f; // relógio dos enfeites do menu
     private float animationFrameDuration = 0.15f; // Duração do frame (para ambos)
 
     private Array<Vector2> rockPositions; // Posições das pedras
 
     // botões
     private Button btnStart, btnSettings, btnExit;
-    private Button btnPhaseClear, btnPhaseDark, btnPhaseRed, btnBack;
+    private Array<Button> phaseButtons; // um por fase, na ordem de game.phases
+    private Button btnBack;
     private boolean selectingPhase = false;
+    private PhaseDefinition hoveredPhase; // última fase sob o mouse (já em prefetch)
+    private TextLine selectTitle;
+    // O modal não muda enquanto aberto: desenhado uma vez num FBO, por cima do fundo animado
+    private final CachedLayer phaseModal = new CachedLayer();
+    private final Runnable drawPhaseModal = this::drawPhaseModal;
+    private final RenderEvent renderEvent = new RenderEvent(); // reaproveitado a cada frame
 
     // layout logo
     private float logoX, logoY, logoW, logoH;
@@ -66,40 +86,37 @@ public class MenuScreen implements Screen {
         camera.position.set(VIRTUAL_W / 2f, VIRTUAL_H / 2f, 0);
         camera.update();
 
-        batch = new SpriteBatch();
-        shapes = new ShapeRenderer();
+        batch = game.batch;
+        ui = game.ui;
         font = new BitmapFont();
         font.getData().setScale(1.1f);
 
         // imagens
-        riverClear = new Texture("ClearRiver.png");
-        riverDark  = new Texture("DarkRiver.png");
-        riverRed   = new Texture("RedRiver.png");
-        titulo     = new Texture("Titulo.png");
-
-        // Escolhe aleatoriamente um fundo de rio
-        Texture[] rivers = { riverClear, riverDark, riverRed };
-        selectedBg = rivers[MathUtils.random(0, 2)];
-
-        // Carrega assets do cenário
-        rockTexture = new Texture("rockClear.png");
-
-        krakenFrames = new Texture[12];
-        for (int i = 0; i < 12; i++) {
-            krakenFrames[i] = new Texture("kraken" + (i + 1) + ".png");
+        TextureAtlas menuSprites = game.assets.acquire(MENU_ATLAS, TextureAtlas.class);
+        previews = new TextureRegion[game.phases.size];
+        for (int i = 0; i < previews.length; i++) {
+            String background = game.phases.get(i).background;
+            previews[i] = menuSprites.findRegion("preview_" + background.substring(0, background.length() - 4));
         }
+        titulo = game.assets.acquire("Titulo.png", Texture.class);
 
+        // Sorteios do menu com semente própria (fixa com -Driverrun.seed)
+        RandomXS128 random = new RandomXS128(game.nextSeed());
 
-        alienHeadFrames = new Texture[12];
-        for (int i = 0; i < 12; i++) {
-            alienHeadFrames[i] = new Texture("alienHead" + (i + 1) + ".png");
-        }
+        // Escolhe aleatoriamente um fundo de rio (só ele fica carregado)
+        selectedBgPath = game.phases.get(random.nextInt(previews.length)).background;
+        selectedBg = game.assets.acquire(selectedBgPath, Texture.class);
+
+        // Cenário
+        rockTexture = menuSprites.findRegion("rockClear");
+        krakenClock = new AnimationClock<>(animationFrameDuration, menuSprites.findRegions("kraken"));
+        alienHeadClock = new AnimationClock<>(animationFrameDuration, menuSprites.findRegions("alienHead"));
 
         // Gera posições aleatórias para as pedras
         rockPositions = new Array<>();
         for (int i = 0; i < 6; i++) {
-            float rockX = MathUtils.random(0, VIRTUAL_W - 60f);
-            float rockY = MathUtils.random(0, VIRTUAL_H - 60f);
+            float rockX = random.nextFloat() * (VIRTUAL_W - 60f);
+            float rockY = random.nextFloat() * (VIRTUAL_H - 60f);
 
             // Evita área central
             boolean isNearCenter = (rockX > VIRTUAL_W * 0.25f && rockX < VIRTUAL_W * 0.75f) &&
@@ -124,21 +141,27 @@ public class MenuScreen implements Screen {
         float bw = 340f, bh = 56f, gap = 12f;
         float baseY = VIRTUAL_H / 2f - 40f;
 
-        btnStart    = new Button(cx - bw / 2f, baseY + (bh + gap) * 1.5f, bw, bh, "JOGAR");
-        btnSettings = new Button(cx - bw / 2f, baseY + (bh + gap) * 0.5f, bw, bh, "CONFIGURAÇÕES");
-        btnExit     = new Button(cx - bw / 2f, baseY - (bh + gap) * 0.5f, bw, bh, "SAIR");
+        btnStart    = new Button(cx - bw / 2f, baseY + (bh + gap) * 1.5f, bw, bh, font, "JOGAR");
+        btnSettings = new Button(cx - bw / 2f, baseY + (bh + gap) * 0.5f, bw, bh, font, "CONFIGURAÇÕES");
+        btnExit     = new Button(cx - bw / 2f, baseY - (bh + gap) * 0.5f, bw, bh, font, "SAIR");
 
         // painel de fases (modal)
         float pbw = 420f;
-        btnPhaseClear = new Button(cx - pbw / 2f, baseY + (bh + gap) * 1.0f, pbw, bh, "Rio Calmo");
-        btnPhaseDark  = new Button(cx - pbw / 2f, baseY + (bh + gap) * 0.0f, pbw, bh, "Rio Bravo");
-        btnPhaseRed   = new Button(cx - pbw / 2f, baseY - (bh + gap) * 1.0f, pbw, bh, "Rio da Morte");
-        btnBack       = new Button(cx - pbw / 2f, baseY - (bh + gap) * 2.0f, pbw, bh, "Voltar");
+        phaseButtons = new Array<>();
+        for (int i = 0; i < game.phases.size; i++) {
+            phaseButtons.add(new Button(cx - pbw / 2f, baseY + (bh + gap) * (1.0f - i), pbw, bh, font, game.phases.get(i).name));
+        }
+        btnBack = new Button(cx - pbw / 2f, baseY + (bh + gap) * (1.0f - phaseButtons.size), pbw, bh, font, "Voltar");
+        selectTitle = new TextLine(font, "Selecione a fase");
 
         // input
         Gdx.input.setInputProcessor(new InputAdapter() {
             @Override
             public boolean keyDown(int keycode) {
+                if (keycode == Input.Keys.F3) {
+                    game.perf.toggle();
+                    return true;
+                }
                 if (keycode == Input.Keys.ESCAPE) {
                     if (selectingPhase) {
                         selectingPhase = false; return true;
@@ -155,25 +178,74 @@ public class MenuScreen implements Screen {
                 camera.unproject(v);
 
                 if (!selectingPhase) {
-                    if (btnStart.hit(v.x, v.y))      { selectingPhase = true; return true; }
+                    if (btnStart.hit(v.x, v.y))      { openPhaseSelection(); return true; }
                     if (btnSettings.hit(v.x, v.y))   { /* ... */ return true; }
                     if (btnExit.hit(v.x, v.y))       { Gdx.app.exit(); return true; }
                 } else {
-                    if (btnPhaseClear.hit(v.x, v.y)) { game.setScreen(new GameScreen(game, "ClearRiver.png")); return true; }
-                    if (btnPhaseDark.hit(v.x, v.y))  { game.setScreen(new GameScreen(game, "DarkRiver.png"));  return true; }
-                    if (btnPhaseRed.hit(v.x, v.y))   { game.setScreen(new GameScreen(game, "RedRiver.png"));   return true; }
+                    int phase = phaseAt(v.x, v.y);
+                    if (phase >= 0)                  { startPhase(game.phases.get(phase)); return true; }
                     if (btnBack.hit(v.x, v.y))       { selectingPhase = false; return true; }
                 }
                 return false;
             }
+
+            @Override
+            public boolean mouseMoved(int screenX, int screenY) {
+                if (!selectingPhase) return false;
+                com.badlogic.gdx.math.Vector3 v = new com.badlogic.gdx.math.Vector3(screenX, screenY, 0);
+                camera.unproject(v);
+
+                // Adianta a carga da fase sob o mouse enquanto o menu anima
+                int phase = phaseAt(v.x, v.y);
+                if (phase >= 0) prefetchPhase(game.phases.get(phase));
+                return false;
+            }
         });
     }
 
+    private void openPhaseSelection() {
+        selectingPhase = true;
+        // A fase jogada por último é o palpite mais provável
+        prefetchPhase(game.lastPhase);
+    }
+
+    private int phaseAt(float x, float y) {
+        for (int i = 0; i < phaseButtons.size; i++) {
+            if (phaseButtons.get(i).hit(x, y)) return i;
+        }
+        return -1;
+    }
+
+    private void prefetchPhase(PhaseDefinition phase) {
+        if (phase == hoveredPhase) return;
+        hoveredPhase = phase;
+        for (AssetDescriptor<?> asset : phase.manifest()) {
+            game.assets.prefetch(asset);
+        }
+    }
+
+    private void startPhase(PhaseDefinition phase) {
+        game.lastPhase = phase;
+        game.setScreen(new LoadingScreen(game, phase));
+    }
+
     @Override
     public void render(float delta) {
+        // Contínuo só enquanto há carga em andamento; senão basta a taxa dos frames do kraken
+        if (game.assets.isLoading()) game.scheduler.continuous();
+        else game.scheduler.idle(1f / animationFrameDuration);
+        game.perf.beginFrame(delta);
+        RiverRunEvent.setContext(hoveredPhase != null ? hoveredPhase.id : "", "MENU", 0);
+        RenderEvent event = renderEvent;
+        event.begin();
+        // Prefetch das fases avança em fatias, dentro do orçamento de upload
+        game.assets.update();
+
         // Atualiza animações
-        krakenAnimationTime += delta;
-        alienHeadAnimationTime += delta;
+        animationTime += delta;
+        krakenClock.update(animationTime);
+        alienHeadClock.update(animationTime);
+        game.perf.endUpdate();
 
         Gdx.gl.glClearColor(0,0,0,1);
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
@@ -182,7 +254,6 @@ public class MenuScreen implements Screen {
         Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
 
         batch.setProjectionMatrix(camera.combined);
-        shapes.setProjectionMatrix(camera.combined);
 
         // Ordem de desenho (fundo, cenário, logo)
         batch.begin();
@@ -196,76 +267,67 @@ public class MenuScreen implements Screen {
         }
 
         // 3. Kraken animado (inferior direito)
-        int krakenFrameIdx = (int)(krakenAnimationTime / animationFrameDuration) % krakenFrames.length;
         float krakenW = 128f, krakenH = 128f;
         float krakenX = VIRTUAL_W - krakenW - 40f;
         float krakenY = 40f;
-        batch.draw(krakenFrames[krakenFrameIdx], krakenX, krakenY, krakenW, krakenH);
+        batch.draw(krakenClock.frame(), krakenX, krakenY, krakenW, krakenH);
 
         // 4. Alien Head animado (superior esquerdo)
-        int alienFrameIdx = (int)(alienHeadAnimationTime / animationFrameDuration) % alienHeadFrames.length;
         float alienW = 128f, alienH = 128f; // Mesmo tamanho do kraken
         float alienX = 40f; // Margem esquerda
         float alienY = VIRTUAL_H - alienH - 40f; // Margem superior
-        batch.draw(alienHeadFrames[alienFrameIdx], alienX, alienY, alienW, alienH);
+        batch.draw(alienHeadClock.frame(), alienX, alienY, alienW, alienH);
 
         // 5. Logo (por cima de tudo)
         batch.draw(titulo, logoX, logoY, logoW, logoH);
         batch.end();
         // --- Fim da alteração de desenho ---
 
+        // Botões num único begin/end do mesmo batch; o modal sai pronto do FBO
         if (!selectingPhase) {
+            ui.begin(camera.combined);
             drawButton(btnStart);
             drawButton(btnSettings);
             drawButton(btnExit);
+            ui.end();
         } else {
-            // modal escurecendo o fundo
-            shapes.begin(ShapeRenderer.ShapeType.Filled);
-            shapes.setColor(0, 0, 0, 0.55f);
-            shapes.rect(0, 0, VIRTUAL_W, VIRTUAL_H);
-            float cardW = 640f, cardH = 360f;
-            float cardX = (VIRTUAL_W - cardW)/2f, cardY = (VIRTUAL_H - cardH)/2f - 20f;
-            shapes.setColor(0.10f, 0.13f, 0.17f, 1f);
-            shapes.rect(cardX, cardY, cardW, cardH);
-            shapes.setColor(0.18f, 0.22f, 0.28f, 1f);
-            shapes.rect(cardX-4, cardY-4, cardW+8, 4);
-            shapes.rect(cardX-4, cardY+cardH, cardW+8, 4);
-            shapes.rect(cardX-4, cardY, 4, cardH);
-            shapes.rect(cardX+cardW, cardY, 4, cardH);
-            shapes.end();
-            batch.begin();
-            GlyphLayout gl = new GlyphLayout(font, "Selecione a fase");
-            font.draw(batch, gl, (VIRTUAL_W - gl.width)/2f, cardY + cardH - 16f);
-            batch.end();
-            drawButton(btnPhaseClear, riverClear);
-            drawButton(btnPhaseDark,  riverDark);
-            drawButton(btnPhaseRed,   riverRed);
-            drawButton(btnBack);
+            phaseModal.draw(batch, viewport, drawPhaseModal);
+        }
+
+        game.perf.endRender(-1);
+        event.end();
+        if (event.shouldCommit()) event.commit("MenuScreen");
+        game.perf.draw(game.batch);
+    }
+
+    private void drawPhaseModal() {
+        ui.begin(camera.combined);
+        // modal escurecendo o fundo
+        ui.rect(0, 0, VIRTUAL_W, VIRTUAL_H, 0f, 0f, 0f, 0.55f);
+        float cardW = 640f, cardH = 360f;
+        float cardX = (VIRTUAL_W - cardW)/2f, cardY = (VIRTUAL_H - cardH)/2f - 20f;
+        ui.rect(cardX, cardY, cardW, cardH, 0.10f, 0.13f, 0.17f, 1f);
+        ui.border(cardX, cardY, cardW, cardH, 4f, 0.18f, 0.22f, 0.28f, 1f);
+        ui.textCentered(selectTitle, VIRTUAL_W / 2f, cardY + cardH - 16f);
+        for (int i = 0; i < phaseButtons.size; i++) {
+            drawButton(phaseButtons.get(i), previews[i]);
         }
+        drawButton(btnBack);
+        ui.end();
     }
 
     private void drawButton(Button b) { drawButton(b, null); }
 
-    private void drawButton(Button b, Texture preview) {
-        shapes.begin(ShapeRenderer.ShapeType.Filled);
-        shapes.setColor(0, 0, 0, 0.35f);
-        shapes.rect(b.x + 3, b.y - 3, b.w, b.h);
-        shapes.setColor(0.12f, 0.16f, 0.20f, 1f);
-        shapes.rect(b.x, b.y, b.w, b.h);
-        shapes.setColor(1f, 1f, 1f, 0.06f);
-        shapes.rect(b.x, b.y + b.h - 4, b.w, 4);
-        shapes.end();
-        batch.begin();
+    private void drawButton(Button b, TextureRegion preview) {
+        ui.buttonBody(b);
         float pad = 12f;
         float textX = b.x + pad;
         if (preview != null) {
             float sW = 72f, sH = 40f;
-            batch.draw(preview, b.x + pad, b.y + (b.h - sH) / 2f, sW, sH);
+            ui.image(preview, b.x + pad, b.y + (b.h - sH) / 2f, sW, sH);
             textX += sW + 10f;
         }
-        GlyphLayout gl = new GlyphLayout(font, b.label);
-        font.draw(batch, gl, textX, b.y + (b.h + gl.height) / 2f + 1f);
-        batch.end();
+        ui.text(b.label, textX, b.y + (b.h + b.label.height()) / 2f + 1f);
     }
 
     @Override public void resize(int w, int h) { viewport.update(w, h, true); }
@@ -275,33 +337,12 @@ public class MenuScreen implements Screen {
 
     @Override
     public void dispose() {
-        batch.dispose();
-        shapes.dispose();
+        phaseModal.dispose();
         font.dispose();
-        riverClear.dispose();
-        riverDark.dispose();
-        riverRed.dispose();
-        titulo.dispose();
-
-        // Dispose dos assets do cenário
-        rockTexture.dispose();
-        if (krakenFrames != null) {
-            for (Texture frame : krakenFrames) {
-                if (frame != null) frame.dispose();
-            }
-        }
-        // Dispose da cabeça do alien
-        if (alienHeadFrames != null) {
-            for (Texture frame : alienHeadFrames) {
-                if (frame != null) frame.dispose();
-            }
-        }
-    }
 
-    private static class Button {
-        float x, y, w, h;
-        String label;
-        Button(float x, float y, float w, float h, String l) { this.x=x; this.y=y; this.w=w; this.h=h; this.label=l; }
-        boolean hit(float px, float py) { return px>=x && px<=x+w && py>=y && py<=y+h; }
+        // Texturas e atlas vêm do cache compartilhado do jogo
+        game.assets.release(selectedBgPath);
+        game.assets.release("Titulo.png");
+        game.assets.release(MENU_ATLAS);
     }
 }
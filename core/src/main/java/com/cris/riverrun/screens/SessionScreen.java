@@ -7,6 +7,7 @@ import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.ui.*;
 import com.badlogic.gdx.utils.viewport.FitViewport;
+import com.cris.riverrun.ui.TextLine;
 
 public class SessionScreen implements Screen {
     private final RiverRunGame game;
@@ -20,6 +21,8 @@ public class SessionScreen implements Screen {
     private boolean spaceLatch = false;
 
     private Label repsLabel, timeLabel;
+    // Texto reaproveitado a cada frame (o Label copia e só relayouta se mudou)
+    private final com.badlogic.gdx.utils.StringBuilder text = new com.badlogic.gdx.utils.StringBuilder(32);
 
     public SessionScreen(RiverRunGame game) { this.game = game; }
 
@@ -47,14 +50,18 @@ public class SessionScreen implements Screen {
             game.setScreen(new MenuScreen(game));
             return;
         }
+        // O cronômetro mostra décimos: 10 fps bastam (SPACE acorda na hora)
+        game.scheduler.idle(10f);
         elapsed += delta;
 
         boolean spaceDown = Gdx.input.isKeyPressed(Input.Keys.SPACE);
         if (spaceDown && !spaceLatch) { reps++; spaceLatch = true; }
         if (!spaceDown) spaceLatch = false;
 
-        repsLabel.setText("Reps: " + reps);
-        timeLabel.setText(String.format("Tempo: %.1fs", elapsed));
+        text.setLength(0);
+        repsLabel.setText(text.append("Reps: ").append(reps));
+        text.setLength(0);
+        timeLabel.setText(TextLine.appendFixed(text.append("Tempo: "), elapsed, 1).append('s'));
 
         Gdx.gl.glClearColor(0.10f, 0.10f, 0.12f, 1f);
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
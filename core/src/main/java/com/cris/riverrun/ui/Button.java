@@ -0,0 +1,21 @@
+package com.cris.riverrun.ui;
+
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+
+// Retângulo clicável com o rótulo já diagramado (compartilhado pelas telas)
+public final class Button {
+    public final float x, y, w, h;
+    public final TextLine label;
+
+    public Button(float x, float y, float w, float h, BitmapFont font, String label) {
+        this.x = x;
+        this.y = y;
+        this.w = w;
+        this.h = h;
+        this.label = new TextLine(font, label);
+    }
+
+    public boolean hit(float px, float py) {
+        return px >= x && px <= x + w && py >= y && py <= y + h;
+    }
+}
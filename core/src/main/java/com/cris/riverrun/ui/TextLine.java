@@ -0,0 +1,84 @@
+package com.cris.riverrun.ui;
+
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.utils.StringBuilder;
+
+/**
+ * Uma linha de texto com o layout guardado: o GlyphLayout só é refeito quando
+ * o texto muda, e desenhar não aloca nada.
+ *
+ * Rótulos fixos ("GAME OVER", botões) passam o texto no construtor. Números e
+ * textos que mudam são escritos no buffer de {@link #edit()} e confirmados com
+ * {@link #commit()}, que compara com o texto atual antes de refazer o layout.
+ */
+public final class TextLine {
+
+    private final BitmapFont font;
+    private final GlyphLayout layout = new GlyphLayout();
+    private final StringBuilder text = new StringBuilder(32);
+    private final StringBuilder scratch = new StringBuilder(32);
+
+    public TextLine(BitmapFont font) {
+        this.font = font;
+    }
+
+    public TextLine(BitmapFont font, CharSequence initial) {
+        this(font);
+        set(initial);
+    }
+
+    public TextLine set(CharSequence value) {
+        edit().append(value);
+        return commit();
+    }
+
+    // Buffer vazio para montar o próximo texto; feche com commit()
+    public StringBuilder edit() {
+        scratch.setLength(0);
+        return scratch;
+    }
+
+    // Troca para o texto montado em edit(), refazendo o layout só se ele mudou
+    public TextLine commit() {
+        if (!scratch.equals(text)) {
+            text.setLength(0);
+            text.append(scratch);
+            layout.setText(font, text);
+        }
+        return this;
+    }
+
+    public void draw(Batch batch, float x, float y) {
+        font.draw(batch, layout, x, y);
+    }
+
+    // Centralizado em x; y é o topo do texto, como em BitmapFont.draw
+    public void drawCentered(Batch batch, float centerX, float y) {
+        font.draw(batch, layout, centerX - layout.width / 2f, y);
+    }
+
+    public float width() { return layout.width; }
+    public float height() { return layout.height; }
+    public CharSequence text() { return text; }
+
+    // Valor com casas decimais fixas, sem Float.toString/String.format
+    public static StringBuilder appendFixed(StringBuilder out, float value, int decimals) {
+        if (value < 0f) {
+            out.append('-');
+            value = -value;
+        }
+        int scale = 1;
+        for (int i = 0; i < decimals; i++) scale *= 10;
+        long scaled = Math.round((double) value * scale);
+        out.append(scaled / scale);
+        if (decimals > 0) {
+            out.append('.');
+            long fraction = scaled % scale;
+            for (int digit = scale / 10; digit > 1 && fraction < digit; digit /= 10) out.append('0');
+            out.append(fraction);
+        }
+        return out;
+    }
+}
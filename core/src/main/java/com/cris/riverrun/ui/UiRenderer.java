@@ -0,0 +1,120 @@
+package com.cris.riverrun.ui;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.FloatArray;
+
+/**
+ * Desenha a UI (retângulos, barras, bordas, imagens e texto) pelo mesmo
+ * SpriteBatch do jogo, no lugar do vai-e-vem ShapeRenderer/SpriteBatch.
+ *
+ * Retângulos usam a região "white" do atlas comum esticada e tingida, então
+ * saem na mesma página de textura que o barco. Imagens e texto ficam em fila e
+ * são emitidos no {@link #end()}, depois de todos os retângulos: uma tela
+ * inteira de UI custa um begin/end e uma troca de textura por tipo (página do
+ * atlas, imagens, fonte), em vez de um flush por botão.
+ *
+ * A ordem vale para UI em camadas simples (fundo, cartões, botões e por cima
+ * imagens e texto); algo que precise ficar por cima de um texto pede outro
+ * begin/end.
+ */
+public final class UiRenderer implements Disposable {
+
+    private final SpriteBatch batch;
+    private final TextureRegion white;
+    private final Texture fallback; // só se o atlas não tiver "white"
+
+    // Filas do frame: imagens (textura + x, y, w, h) e textos (linha + x, y)
+    private final Array<TextureRegion> images = new Array<>(false, 16);
+    private final FloatArray imageBounds = new FloatArray(64);
+    private final Array<TextLine> texts = new Array<>(false, 32);
+    private final FloatArray textPositions = new FloatArray(64);
+
+    public UiRenderer(SpriteBatch batch, TextureRegion white) {
+        this.batch = batch;
+        if (white != null) {
+            // Centro da região: o filtro linear não puxa a borda transparente do atlas
+            this.white = new TextureRegion(white, white.getRegionWidth() / 2, white.getRegionHeight() / 2, 1, 1);
+            this.fallback = null;
+        } else {
+            Pixmap pixmap = new Pixmap(1, 1, Pixmap.Format.RGBA8888);
+            pixmap.setColor(Color.WHITE);
+            pixmap.fill();
+            this.fallback = new Texture(pixmap);
+            pixmap.dispose();
+            this.white = new TextureRegion(fallback);
+        }
+    }
+
+    public void begin(Matrix4 projection) {
+        batch.setProjectionMatrix(projection);
+        batch.begin();
+    }
+
+    public void rect(float x, float y, float w, float h, float r, float g, float b, float a) {
+        batch.setColor(r, g, b, a);
+        batch.draw(white, x, y, w, h);
+    }
+
+    // Moldura de espessura t por fora do retângulo (como os cartões do pause e do menu)
+    public void border(float x, float y, float w, float h, float t, float r, float g, float b, float a) {
+        rect(x - t, y - t, w + 2 * t, t, r, g, b, a);
+        rect(x - t, y + h, w + 2 * t, t, r, g, b, a);
+        rect(x - t, y, t, h, r, g, b, a);
+        rect(x + w, y, t, h, r, g, b, a);
+    }
+
+    // Fundo padrão de botão: sombra, corpo e brilho no topo (o rótulo fica com a tela)
+    public void buttonBody(Button button) {
+        rect(button.x + 3, button.y - 3, button.w, button.h, 0f, 0f, 0f, 0.35f);
+        rect(button.x, button.y, button.w, button.h, 0.12f, 0.16f, 0.20f, 1f);
+        rect(button.x, button.y + button.h - 4, button.w, 4, 1f, 1f, 1f, 0.06f);
+    }
+
+    public void image(TextureRegion region, float x, float y, float w, float h) {
+        images.add(region);
+        imageBounds.add(x, y, w, h);
+    }
+
+    public void text(TextLine line, float x, float y) {
+        texts.add(line);
+        textPositions.add(x, y);
+    }
+
+    public void textCentered(TextLine line, float centerX, float y) {
+        text(line, centerX - line.width() / 2f, y);
+    }
+
+    // Emite as filas (imagens, depois texto) e fecha o batch
+    public void end() {
+        batch.setColor(Color.WHITE);
+        float[] bounds = imageBounds.items;
+        for (int i = 0; i < images.size; i++) {
+            batch.draw(images.get(i), bounds[i * 4], bounds[i * 4 + 1], bounds[i * 4 + 2], bounds[i * 4 + 3]);
+        }
+        float[] positions = textPositions.items;
+        for (int i = 0; i < texts.size; i++) {
+            texts.get(i).draw(batch, positions[i * 2], positions[i * 2 + 1]);
+        }
+        images.clear();
+        imageBounds.clear();
+        texts.clear();
+        textPositions.clear();
+        batch.end();
+    }
+
+    public SpriteBatch getBatch() {
+        return batch;
+    }
+
+    @Override
+    public void dispose() {
+        if (fallback != null) fallback.dispose();
+    }
+}
@@ -0,0 +1,154 @@
+package com.cris.riverrun.world;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.StreamUtils;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+
+/**
+ * Máscara de colisão de um frame: um bit por pixel opaco, 64 pixels por long.
+ *
+ * A linha 0 é a base do sprite (y cresce para cima, como no mundo). As máscaras
+ * são geradas pelo :packTextures a partir do alfa de cada PNG e gravadas em
+ * atlas/&lt;nome&gt;.masks no tamanho do PNG, que não é o de desenho; o
+ * RiverWorld faz na carga uma cópia no tamanho em que cada sprite aparece
+ * ({@link #resampled}). Nesse tamanho, {@link #overlaps} compara duas máscaras
+ * com um AND de palavras inteiras por linha da área em comum; só arquétipos de
+ * tamanho sorteado caem no mapeamento pixel a pixel até a máscara de origem.
+ */
+public final class CollisionMask {
+
+    private final int width, height;
+    private final int wordsPerRow;
+    private final long[] bits;
+
+    public CollisionMask(int width, int height, long[] bits) {
+        this.width = width;
+        this.height = height;
+        this.wordsPerRow = (width + 63) >>> 6;
+        if (bits.length != wordsPerRow * height) {
+            throw new IllegalArgumentException("Máscara " + width + "x" + height + " com " + bits.length + " palavras");
+        }
+        this.bits = bits;
+    }
+
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+
+    public boolean get(int x, int y) {
+        return (bits[y * wordsPerRow + (x >>> 6)] & (1L << (x & 63))) != 0;
+    }
+
+    // Cópia por vizinho mais próximo em w x h; aloca, então só na carga das máscaras
+    public CollisionMask resampled(int w, int h) {
+        if (w == width && h == height) return this;
+        int words = (w + 63) >>> 6;
+        long[] resampled = new long[words * h];
+        for (int y = 0; y < h; y++) {
+            int srcY = y * height / h;
+            for (int x = 0; x < w; x++) {
+                if (get(x * width / w, srcY)) resampled[y * words + (x >>> 6)] |= 1L << (x & 63);
+            }
+        }
+        return new CollisionMask(w, h, resampled);
+    }
+
+    // 64 bits da linha a partir da coluna offset (bits fora da máscara valem 0)
+    private long wordAt(int row, int offset) {
+        int index = offset >>> 6;
+        if (index >= wordsPerRow) return 0L;
+        int shift = offset & 63;
+        int base = row * wordsPerRow;
+        long word = bits[base + index] >>> shift;
+        if (shift != 0 && index + 1 < wordsPerRow) word |= bits[base + index + 1] << (64 - shift);
+        return word;
+    }
+
+    // Teste por pixel entre a (canto inferior esquerdo em ax, ay) e b, ambos na escala do mundo
+    public static boolean overlaps(CollisionMask a, int ax, int ay, CollisionMask b, int bx, int by) {
+        int x0 = Math.max(ax, bx), x1 = Math.min(ax + a.width, bx + b.width);
+        int y0 = Math.max(ay, by), y1 = Math.min(ay + a.height, by + b.height);
+        if (x0 >= x1 || y0 >= y1) return false;
+
+        for (int y = y0; y < y1; y++) {
+            int rowA = y - ay, rowB = y - by;
+            for (int x = x0; x < x1; x += 64) {
+                long word = a.wordAt(rowA, x - ax) & b.wordAt(rowB, x - bx);
+                int remaining = x1 - x;
+                if (remaining < 64) word &= (1L << remaining) - 1;
+                if (word != 0L) return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Teste por pixel entre a, desenhada em (ax, ay) com tamanho aw x ah, e b em
+     * (bx, by) com bw x bh. Com as duas já no tamanho de desenho é o AND por
+     * palavras; senão cada pixel da área em comum é levado de volta à máscara de
+     * origem por vizinho mais próximo (mais lento, mas sem alocar).
+     */
+    public static boolean overlaps(CollisionMask a, int ax, int ay, int aw, int ah,
+                                   CollisionMask b, int bx, int by, int bw, int bh) {
+        if (aw == a.width && ah == a.height && bw == b.width && bh == b.height) {
+            return overlaps(a, ax, ay, b, bx, by);
+        }
+        int x0 = Math.max(ax, bx), x1 = Math.min(ax + aw, bx + bw);
+        int y0 = Math.max(ay, by), y1 = Math.min(ay + ah, by + bh);
+        if (x0 >= x1 || y0 >= y1) return false;
+
+        for (int y = y0; y < y1; y++) {
+            int rowA = (y - ay) * a.height / ah, rowB = (y - by) * b.height / bh;
+            for (int x = x0; x < x1; x++) {
+                if (a.get((x - ax) * a.width / aw, rowA) && b.get((x - bx) * b.width / bw, rowB)) return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Lê um arquivo .masks e devolve os frames de cada região, ordenados pelo
+     * índice do frame (o mesmo de TextureAtlas.findRegions).
+     */
+    public static ObjectMap<String, CollisionMask[]> readAll(FileHandle file) {
+        ObjectMap<String, Array<CollisionMask>> frames = new ObjectMap<>();
+        ObjectMap<String, Array<Integer>> indices = new ObjectMap<>();
+        DataInputStream in = new DataInputStream(file.read(4096));
+        try {
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String name = in.readUTF();
+                int index = in.readInt();
+                int w = in.readInt();
+                int h = in.readInt();
+                long[] bits = new long[((w + 63) >>> 6) * h];
+                for (int j = 0; j < bits.length; j++) bits[j] = in.readLong();
+
+                if (!frames.containsKey(name)) {
+                    frames.put(name, new Array<>());
+                    indices.put(name, new Array<>());
+                }
+                // insere mantendo a ordem do índice
+                Array<Integer> order = indices.get(name);
+                int at = 0;
+                while (at < order.size && order.get(at) < index) at++;
+                order.insert(at, index);
+                frames.get(name).insert(at, new CollisionMask(w, h, bits));
+            }
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Erro lendo máscaras de colisão: " + file, e);
+        } finally {
+            StreamUtils.closeQuietly(in);
+        }
+
+        ObjectMap<String, CollisionMask[]> masks = new ObjectMap<>();
+        for (ObjectMap.Entry<String, Array<CollisionMask>> entry : frames) {
+            masks.put(entry.key, entry.value.toArray(CollisionMask.class));
+        }
+        return masks;
+    }
+}
@@ -0,0 +1,52 @@
+package com.cris.riverrun.world;
+
+/**
+ * Acumulador de passo fixo: converte o delta variável do frame em um número
+ * inteiro de ticks de simulação, sempre com o mesmo dt.
+ *
+ * Depois de um frame longo roda no máximo {@code maxCatchUpSteps} ticks e
+ * descarta o resto, para não entrar em espiral. {@link #alpha()} diz quanto do
+ * próximo tick já passou, para o renderizador interpolar entre os estados.
+ */
+public final class FixedTimestep {
+
+    private final float step;
+    private final int maxCatchUpSteps;
+    private float accumulator = 0f;
+
+    public FixedTimestep(float tickRate, int maxCatchUpSteps) {
+        if (tickRate <= 0f) throw new IllegalArgumentException("tickRate deve ser positivo: " + tickRate);
+        this.step = 1f / tickRate;
+        this.maxCatchUpSteps = Math.max(1, maxCatchUpSteps);
+    }
+
+    // Soma o delta do frame e devolve quantos ticks de getStep() devem rodar agora
+    public int advance(float delta) {
+        accumulator += delta;
+        int steps = (int) (accumulator / step);
+        if (steps > maxCatchUpSteps) {
+            steps = maxCatchUpSteps;
+            accumulator = steps * step; // o atraso além do limite é descartado
+        }
+        accumulator = Math.max(0f, accumulator - steps * step);
+        return steps;
+    }
+
+    // Fração [0, 1) do próximo tick já decorrida
+    public float alpha() {
+        return accumulator / step;
+    }
+
+    // Zera o acumulador (ex.: ao sair do pause, para não compensar o tempo parado)
+    public void reset() {
+        accumulator = 0f;
+    }
+
+    public float getStep() {
+        return step;
+    }
+
+    public int getMaxCatchUpSteps() {
+        return maxCatchUpSteps;
+    }
+}
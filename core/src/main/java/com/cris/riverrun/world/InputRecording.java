@@ -0,0 +1,154 @@
+package com.cris.riverrun.world;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.StreamUtils;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Teclas de uma corrida, tick a tick, junto com o que mais é preciso para
+ * re-simular igual: fase, semente do {@link RiverWorld} e taxa de ticks.
+ *
+ * As teclas são guardadas em runs (estado + quantos ticks ele durou), porque
+ * mudam poucas vezes por segundo; minutos de jogo cabem em poucos KB. Tocar
+ * de volta é com um {@link Cursor} (ou pelo {@link ReplayPlayer}).
+ *
+ * Arquivo: int mágico, int versão, UTF fase, long semente, float tickRate,
+ * int ticks, int runs e então, por run, um byte de estado e o tamanho em varint.
+ */
+public final class InputRecording {
+
+    private static final int MAGIC = 0x52525250; // "RRRP"
+    private static final int VERSION = 1;
+
+    public final String phaseId;
+    public final long seed;
+    public final float tickRate;
+
+    private byte[] states = new byte[64];
+    private int[] lengths = new int[64];
+    private int runs;
+    private int ticks;
+
+    public InputRecording(String phaseId, long seed, float tickRate) {
+        this.phaseId = phaseId;
+        this.seed = seed;
+        this.tickRate = tickRate;
+    }
+
+    // Grava o estado das teclas de mais um tick
+    public void record(InputSnapshot input) {
+        byte state = (byte) input.toBits();
+        if (runs > 0 && states[runs - 1] == state) {
+            lengths[runs - 1]++;
+        } else {
+            if (runs == states.length) {
+                byte[] grownStates = new byte[runs * 2];
+                int[] grownLengths = new int[runs * 2];
+                System.arraycopy(states, 0, grownStates, 0, runs);
+                System.arraycopy(lengths, 0, grownLengths, 0, runs);
+                states = grownStates;
+                lengths = grownLengths;
+            }
+            states[runs] = state;
+            lengths[runs] = 1;
+            runs++;
+        }
+        ticks++;
+    }
+
+    public int tickCount() { return ticks; }
+    public int runCount() { return runs; }
+
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    // Leitura sequencial dos ticks, do primeiro ao último
+    public final class Cursor {
+        private int run, used, tick;
+
+        // Preenche o input do próximo tick; false quando a gravação acabou
+        public boolean next(InputSnapshot out) {
+            if (run >= runs) return false;
+            out.fromBits(states[run]);
+            if (++used == lengths[run]) {
+                run++;
+                used = 0;
+            }
+            tick++;
+            return true;
+        }
+
+        public int tick() { return tick; }
+        public boolean finished() { return run >= runs; }
+    }
+
+    public void write(FileHandle file) {
+        DataOutputStream out = new DataOutputStream(file.write(false, 4096));
+        try {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeUTF(phaseId);
+            out.writeLong(seed);
+            out.writeFloat(tickRate);
+            out.writeInt(ticks);
+            out.writeInt(runs);
+            for (int i = 0; i < runs; i++) {
+                out.writeByte(states[i]);
+                writeVarInt(out, lengths[i]);
+            }
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Erro gravando replay: " + file, e);
+        } finally {
+            StreamUtils.closeQuietly(out);
+        }
+    }
+
+    public static InputRecording read(FileHandle file) {
+        DataInputStream in = new DataInputStream(file.read(4096));
+        try {
+            if (in.readInt() != MAGIC) throw new GdxRuntimeException("Não é um replay: " + file);
+            int version = in.readInt();
+            if (version != VERSION) throw new GdxRuntimeException("Versão de replay não suportada (" + version + "): " + file);
+            InputRecording recording = new InputRecording(in.readUTF(), in.readLong(), in.readFloat());
+            int ticks = in.readInt();
+            int runs = in.readInt();
+            recording.states = new byte[Math.max(1, runs)];
+            recording.lengths = new int[Math.max(1, runs)];
+            for (int i = 0; i < runs; i++) {
+                recording.states[i] = in.readByte();
+                recording.lengths[i] = readVarInt(in);
+                recording.ticks += recording.lengths[i];
+            }
+            recording.runs = runs;
+            if (recording.ticks != ticks) throw new GdxRuntimeException("Replay corrompido: " + file);
+            return recording;
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Erro lendo replay: " + file, e);
+        } finally {
+            StreamUtils.closeQuietly(in);
+        }
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("varint longo demais");
+    }
+}
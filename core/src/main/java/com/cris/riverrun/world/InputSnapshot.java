@@ -0,0 +1,40 @@
+package com.cris.riverrun.world;
+
+// Estado das teclas do jogo em um passo da simulação (preenchido pela tela, por um bot ou por um replay)
+public final class InputSnapshot {
+
+    // Bits de toBits()/fromBits(), um por tecla, no formato das gravações
+    public static final int UP = 1;
+    public static final int LEFT = 2;
+    public static final int RIGHT = 4;
+    public static final int PAUSE = 8;
+
+    public boolean up;
+    public boolean left;
+    public boolean right;
+    public boolean pause; // ESC; a simulação ignora, mas vai para a gravação
+
+    public InputSnapshot set(boolean up, boolean left, boolean right) {
+        return set(up, left, right, false);
+    }
+
+    public InputSnapshot set(boolean up, boolean left, boolean right, boolean pause) {
+        this.up = up;
+        this.left = left;
+        this.right = right;
+        this.pause = pause;
+        return this;
+    }
+
+    public InputSnapshot clear() {
+        return set(false, false, false, false);
+    }
+
+    public int toBits() {
+        return (up ? UP : 0) | (left ? LEFT : 0) | (right ? RIGHT : 0) | (pause ? PAUSE : 0);
+    }
+
+    public InputSnapshot fromBits(int bits) {
+        return set((bits & UP) != 0, (bits & LEFT) != 0, (bits & RIGHT) != 0, (bits & PAUSE) != 0);
+    }
+}
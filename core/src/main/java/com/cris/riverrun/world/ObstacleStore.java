@@ -0,0 +1,114 @@
+package com.cris.riverrun.world;
+
+/**
+ * Obstáculos em estrutura de arrays (um float[] por campo), sem um objeto por obstáculo.
+ *
+ * O y é no espaço do rio (não da tela): como tudo desce na mesma velocidade, um
+ * obstáculo fica parado nesse espaço e a ordem de spawn já é a ordem por y. A
+ * loja é então uma fila ordenada: {@link #add} entra no fim (y nunca menor que o
+ * último), {@link #removeFirst} sai do começo, e {@link #lowerBound} acha por
+ * busca binária o trecho de uma faixa de y. Ninguém precisa ser percorrido por
+ * passo, só o trecho perto do barco ou da tela.
+ *
+ * Os índices vão de {@link #first()} (inclusivo) a {@link #end()} (exclusivo) e
+ * mudam quando a fila é compactada dentro de {@link #add}. Depois que a
+ * capacidade estabiliza, nada é alocado.
+ *
+ * Só o pacote world escreve na fila; para as telas e os benchmarks (via
+ * RiverWorld.getObstacles) ela é somente leitura.
+ */
+public final class ObstacleStore {
+
+    float[] x, y;
+    float[] width, height;
+    int[] archetype;
+    int[] phase; // frames de adianto em relação ao relógio da animação do arquétipo
+    int head, tail;
+
+    ObstacleStore(int initialCapacity) {
+        int capacity = Math.max(4, initialCapacity);
+        x = new float[capacity];
+        y = new float[capacity];
+        width = new float[capacity];
+        height = new float[capacity];
+        archetype = new int[capacity];
+        phase = new int[capacity];
+    }
+
+    // Adiciona no fim (oy >= y do último) e devolve o índice
+    int add(int archetypeIndex, float ox, float oy, float w, float h, int animationPhase) {
+        if (tail == x.length) makeRoom();
+        int i = tail++;
+        archetype[i] = archetypeIndex;
+        x[i] = ox;
+        y[i] = oy;
+        width[i] = w;
+        height[i] = h;
+        phase[i] = animationPhase;
+        return i;
+    }
+
+    // Fim do array: compacta para o índice 0 e só dobra se a fila ocupa mais da metade
+    private void makeRoom() {
+        int count = tail - head;
+        int capacity = count >= x.length / 2 ? x.length * 2 : x.length;
+        x = relocate(x, capacity);
+        y = relocate(y, capacity);
+        width = relocate(width, capacity);
+        height = relocate(height, capacity);
+        archetype = relocate(archetype, capacity);
+        phase = relocate(phase, capacity);
+        head = 0;
+        tail = count;
+    }
+
+    private float[] relocate(float[] array, int capacity) {
+        float[] target = capacity == array.length ? array : new float[capacity];
+        System.arraycopy(array, head, target, 0, tail - head);
+        return target;
+    }
+
+    private int[] relocate(int[] array, int capacity) {
+        int[] target = capacity == array.length ? array : new int[capacity];
+        System.arraycopy(array, head, target, 0, tail - head);
+        return target;
+    }
+
+    // Remove o obstáculo de menor y
+    void removeFirst() {
+        if (++head == tail) head = tail = 0;
+    }
+
+    // Primeiro índice com y >= minY (end() se nenhum)
+    public int lowerBound(float minY) {
+        int lo = head, hi = tail;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (y[mid] < minY) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    // Desloca todos em y (usado para rebasear o espaço do rio e não perder precisão)
+    void shift(float dy) {
+        for (int i = head; i < tail; i++) y[i] += dy;
+    }
+
+    void clear() {
+        head = tail = 0;
+    }
+
+    public int first() { return head; }
+    public int end() { return tail; }
+    public int size() { return tail - head; }
+    public boolean isEmpty() { return head == tail; }
+    public int capacity() { return x.length; }
+
+    public float x(int i) { return x[i]; }
+    public float y(int i) { return y[i]; }
+    public float width(int i) { return width[i]; }
+    public float height(int i) { return height[i]; }
+    public int archetype(int i) { return archetype[i]; }
+    public int phase(int i) { return phase[i]; }
+}
@@ -0,0 +1,51 @@
+package com.cris.riverrun.world;
+
+/**
+ * Re-simula uma {@link InputRecording} em um {@link RiverWorld} criado com a
+ * mesma fase e semente. Mesmos inputs, mesmo dt e mesma semente dão o mesmo
+ * resultado bit a bit, então o replay serve para reproduzir bugs e problemas
+ * de desempenho.
+ *
+ * Sem janela: {@link #runToEnd()} roda tudo na velocidade máxima. Com
+ * renderização, a tela chama {@link #step()} uma vez por tick do passo fixo.
+ */
+public final class ReplayPlayer {
+
+    private final InputRecording recording;
+    private final InputRecording.Cursor cursor;
+    private final RiverWorld world;
+    private final InputSnapshot input = new InputSnapshot();
+    private final float step;
+
+    public ReplayPlayer(InputRecording recording, RiverWorld world) {
+        if (!recording.phaseId.equals(world.getPhase().id) || recording.seed != world.getSeed()) {
+            throw new IllegalArgumentException("Replay de " + recording.phaseId + "/" + recording.seed
+                + " não combina com o mundo " + world.getPhase().id + "/" + world.getSeed());
+        }
+        this.recording = recording;
+        this.cursor = recording.cursor();
+        this.world = world;
+        // Mesmo dt do FixedTimestep da gravação
+        this.step = 1f / recording.tickRate;
+    }
+
+    // Roda o próximo tick gravado; false quando a gravação acabou (o mundo não avança)
+    public boolean step() {
+        if (!cursor.next(input)) return false;
+        world.step(input, step);
+        return true;
+    }
+
+    // Roda todos os ticks restantes de uma vez; devolve quantos rodaram
+    public int runToEnd() {
+        int steps = 0;
+        while (step()) steps++;
+        return steps;
+    }
+
+    public boolean isFinished() { return cursor.finished(); }
+    public int getTick() { return cursor.tick(); }
+    public float getStep() { return step; }
+    public InputRecording getRecording() { return recording; }
+    public RiverWorld getWorld() { return world; }
+}
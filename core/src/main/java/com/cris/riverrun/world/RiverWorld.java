@@ -0,0 +1,361 @@
+package com.cris.riverrun.world;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.cris.riverrun.phases.PhaseDefinition;
+
+/**
+ * Simulação do rio sem nada de GL: barco, cadência, rolagem, obstáculos e colisão.
+ *
+ * Recebe um {@link InputSnapshot} e o delta em {@link #step}, e expõe o estado só
+ * para leitura. O GameScreen desenha a partir dela; benchmarks, replays e bots
+ * podem rodar a mesma lógica sem janela nem contexto OpenGL.
+ *
+ * Todo sorteio sai de um gerador próprio com a semente da corrida (nunca do
+ * MathUtils.random global): mesma semente, mesmo dt e mesmos inputs dão a mesma
+ * corrida bit a bit ({@link InputRecording}, {@link ReplayPlayer}).
+ *
+ * O estado do início de cada passo é guardado, e os getters com {@code alpha}
+ * interpolam entre ele e o atual, para desenhar entre dois ticks de passo fixo.
+ *
+ * A colisão é contínua ({@link Sweep}): o movimento relativo barco/obstáculo
+ * do passo inteiro é testado, e a morte começa no instante exato do contato.
+ * Com máscaras ({@link #setCollisionMasks}) o contato da AABB ainda é confirmado
+ * pixel a pixel, amostrando o resto do passo; sem elas vale só a AABB.
+ *
+ * Obstáculos ficam no espaço do rio ({@link ObstacleStore}, ordenados por y) e
+ * a tela é a janela [distance, distance + HEIGHT] dele. Colisão, descarte e
+ * visibilidade consultam só a faixa de y que interessa, então o custo por passo
+ * cresce com os obstáculos perto do barco e não com o total.
+ */
+public class RiverWorld {
+
+    // Distância máxima (px) entre amostras do teste por pixel ao longo do passo
+    private static final float MASK_SAMPLE_STEP = 2f;
+    // Ao passar disso a distância e os obstáculos voltam juntos (precisão do float)
+    private static final float REBASE_DISTANCE = 8192f;
+
+    public static final float WIDTH = 1280f;
+    public static final float HEIGHT = 720f;
+    // A rolagem do rio dá a volta a cada RIVER_PERIOD; múltiplo de HEIGHT para as camadas do shader (velocidades k/4) fecharem o ciclo
+    public static final float RIVER_PERIOD = 4f * HEIGHT;
+    // Duração de um frame da animação do barco (a máscara segue o mesmo frame)
+    public static final float BOAT_FRAME_DURATION = 0.1f;
+
+    public enum State { PLAYING, DYING, GAME_OVER }
+
+    private final PhaseDefinition phase;
+    private final long seed;
+    private final RandomXS128 random;
+    private State state = State.PLAYING;
+    private float time = 0f; // tempo simulado desde o início da corrida
+
+    // Barco
+    private float boatX, boatY;
+    private float prevBoatX, prevBoatY;
+    private final float boatBaseY = 120f;
+    private float boatBobTime = 0f;
+    private final float boatW = 96f;
+    private final float boatH = 96f;
+    private float animationTime = 0f;
+
+    private final float boatLateralSpeed = 350f;
+    private final float minScreenX = 50f;
+    private final float maxScreenX = WIDTH - boatW - 50f;
+
+    // Cadência e rolagem
+    private float cadencePower = 0f;
+    private final float cadenceAccel = 1.8f;
+    private final float cadenceDecay = 0.8f;
+    private final float baseSpeed = 80f;
+    private final float maxBoost = 140f;
+    private float scrollSpeed = 0f;
+    private float riverScroll = 0f, prevRiverScroll = 0f; // quanto o fundo rolou, em [0, RIVER_PERIOD)
+
+    // Obstáculos (y no espaço do rio; na tela é y - distance)
+    private final ObstacleStore obstacles = new ObstacleStore(32);
+    private float distance = 0f, prevDistance = 0f; // quanto o rio já rolou
+    private final float maxObstacleHeight;
+    private final float[] archetypeDurations; // duração de um ciclo de animação por arquétipo
+    private float spawnTimer = 0f;
+    private boolean colliding = false;
+    private float collisionTime = -1f; // instante do contato, em segundos de simulação
+    private boolean invulnerable = false; // contato só marca colliding (stress e benchmarks)
+
+    // Máscaras por pixel (opcionais)
+    private CollisionMask[] boatMasks;
+    private float boatFrameDuration;
+    private CollisionMask[][] archetypeMasks;
+
+    // Morte
+    private float deathTime = 0f;
+    private final float deathDuration;
+
+    public RiverWorld(PhaseDefinition phase, long seed) {
+        this.phase = phase;
+        this.seed = seed;
+        this.random = new RandomXS128(seed);
+        this.boatX = WIDTH / 2f - boatW / 2f;
+        this.boatY = boatBaseY;
+        this.prevBoatX = boatX;
+        this.prevBoatY = boatY;
+        this.deathDuration = phase.death.totalDuration();
+        this.archetypeDurations = new float[phase.archetypeCount()];
+        float tallest = 0f;
+        for (int i = 0; i < archetypeDurations.length; i++) {
+            PhaseDefinition.Archetype archetype = phase.archetype(i);
+            archetypeDurations[i] = archetype.frames * archetype.frameDuration;
+            tallest = Math.max(tallest, archetype.maxHeight);
+        }
+        this.maxObstacleHeight = tallest;
+    }
+
+    // Avança a simulação em delta segundos
+    public void step(InputSnapshot input, float delta) {
+        savePrevious();
+        switch (state) {
+            case PLAYING:
+                stepPlaying(input, delta);
+                break;
+            case DYING:
+                deathTime += delta;
+                if (deathTime >= deathDuration) state = State.GAME_OVER;
+                break;
+            case GAME_OVER:
+                break;
+        }
+        time += delta;
+    }
+
+    private void stepPlaying(InputSnapshot input, float delta) {
+        // --- 1. Movimento (Vertical e Lateral) ---
+        if (input.up) cadencePower += cadenceAccel * delta;
+        else cadencePower -= cadenceDecay * delta;
+        cadencePower = MathUtils.clamp(cadencePower, 0f, 1f);
+        scrollSpeed = baseSpeed + maxBoost * cadencePower;
+        distance += scrollSpeed * delta;
+        riverScroll += scrollSpeed * delta;
+        // Ao dar a volta, o estado anterior acompanha o salto (senão a interpolação "volta")
+        if (riverScroll >= RIVER_PERIOD) { riverScroll -= RIVER_PERIOD; prevRiverScroll -= RIVER_PERIOD; }
+
+        if (input.left) boatX -= boatLateralSpeed * delta;
+        if (input.right) boatX += boatLateralSpeed * delta;
+        boatX = MathUtils.clamp(boatX, minScreenX, maxScreenX);
+
+        boatBobTime += delta * 2f;
+        boatY = boatBaseY + MathUtils.sin(boatBobTime) * 4f;
+        animationTime += delta;
+
+        // --- 2. Geração de Obstáculos ---
+        // Vários por passo se o intervalo for menor que o dt (fases de enxame)
+        spawnTimer -= delta;
+        while (spawnTimer <= 0) {
+            spawnObstacle(delta);
+            spawnTimer += random(phase.spawnIntervalMin, phase.spawnIntervalMax);
+        }
+
+        // --- 3. Colisão (contínua) com os Obstáculos perto do barco ---
+        // No referencial do barco, o obstáculo anda (-dx do barco, dy do obstáculo - dy do barco)
+        float boatDx = boatX - prevBoatX;
+        float boatDy = boatY - prevBoatY;
+        float obstacleDy = prevDistance - distance;
+        float hit = 2f;
+        colliding = false;
+        ObstacleStore o = obstacles;
+        // Faixa do espaço do rio varrida pelo barco no passo, alargada pelo obstáculo mais alto
+        float boatFrom = Math.min(prevBoatY + prevDistance, boatY + distance);
+        float boatTo = Math.max(prevBoatY + prevDistance, boatY + distance) + boatH;
+        for (int i = o.lowerBound(boatFrom - maxObstacleHeight); i < o.tail && o.y[i] <= boatTo; i++) {
+            float t = Sweep.timeOfImpact(prevBoatX, prevBoatY, boatW, boatH,
+                o.x[i], o.y[i] - prevDistance, o.width[i], o.height[i], -boatDx, obstacleDy - boatDy);
+            if (t != Sweep.NO_HIT) t = refineByMask(i, t, delta, boatDx, boatDy, obstacleDy);
+            if (t != Sweep.NO_HIT && t < hit) hit = t;
+        }
+
+        if (hit <= 1f) {
+            colliding = true;
+            if (!invulnerable) {
+                // Volta barco, rio e obstáculos ao instante do contato; o resto do passo já conta na morte
+                rewindTo(hit);
+                collisionTime = time + hit * delta;
+                // A animação de morte já vem da definição da fase
+                state = State.DYING;
+                deathTime = (1f - hit) * delta;
+            }
+        }
+
+        // --- 4. Descarte: sai pela frente da fila o que já passou da borda de baixo (depois do rewind) ---
+        while (!o.isEmpty() && o.y[o.head] + o.height[o.head] < distance) {
+            o.removeFirst();
+        }
+        if (distance >= REBASE_DISTANCE) rebase();
+    }
+
+    // Confirma o contato AABB por pixel entre t0 e o fim do passo; devolve o primeiro t com sobreposição
+    private float refineByMask(int i, float t0, float delta, float boatDx, float boatDy, float obstacleDy) {
+        if (boatMasks == null || archetypeMasks == null) return t0;
+        ObstacleStore o = obstacles;
+        int archetype = o.archetype[i];
+        CollisionMask[] frames = archetypeMasks[archetype];
+        if (frames == null || frames.length == 0) return t0;
+
+        CollisionMask boatMask = frameOf(boatMasks, animationTime, boatFrameDuration, 0);
+        CollisionMask mask = frameOf(frames, time + delta, phase.archetype(archetype).frameDuration, o.phase[i]);
+        int boatWidth = MathUtils.round(boatW), boatHeight = MathUtils.round(boatH);
+        int width = MathUtils.round(o.width[i]), height = MathUtils.round(o.height[i]);
+
+        float sweepLength = Math.max(Math.abs(boatDx), Math.abs(obstacleDy - boatDy)) * (1f - t0);
+        int samples = Math.max(1, MathUtils.ceil(sweepLength / MASK_SAMPLE_STEP));
+        for (int s = 0; s <= samples; s++) {
+            float t = t0 + (1f - t0) * s / samples;
+            int bx = MathUtils.floor(prevBoatX + boatDx * t);
+            int by = MathUtils.floor(prevBoatY + boatDy * t);
+            int oy = MathUtils.floor(o.y[i] - prevDistance + obstacleDy * t);
+            if (CollisionMask.overlaps(boatMask, bx, by, boatWidth, boatHeight,
+                    mask, MathUtils.floor(o.x[i]), oy, width, height)) return t;
+        }
+        return Sweep.NO_HIT;
+    }
+
+    // Mesmo índice que o AnimationClock do desenho: frame do relógio mais a fase, em LOOP
+    private static CollisionMask frameOf(CollisionMask[] frames, float time, float frameDuration, int phase) {
+        if (frames.length == 1) return frames[0];
+        return frames[((int) (time / frameDuration) + phase) % frames.length];
+    }
+
+    private void rewindTo(float t) {
+        boatX = prevBoatX + (boatX - prevBoatX) * t;
+        boatY = prevBoatY + (boatY - prevBoatY) * t;
+        distance = prevDistance + (distance - prevDistance) * t;
+        // Se deu a volta neste passo, prevRiverScroll já acompanhou o salto
+        riverScroll = prevRiverScroll + (riverScroll - prevRiverScroll) * t;
+    }
+
+    // Volta distância e obstáculos juntos; a tela (y - distance) não muda
+    private void rebase() {
+        distance -= REBASE_DISTANCE;
+        prevDistance -= REBASE_DISTANCE;
+        obstacles.shift(-REBASE_DISTANCE);
+    }
+
+    private void savePrevious() {
+        prevBoatX = boatX;
+        prevBoatY = boatY;
+        prevRiverScroll = riverScroll;
+        prevDistance = distance;
+    }
+
+    private void spawnObstacle(float delta) {
+        int index = phase.pickArchetype(random.nextFloat());
+        PhaseDefinition.Archetype archetype = phase.archetype(index);
+        float w = random(archetype.minWidth, archetype.maxWidth);
+        float h = random(archetype.minHeight, archetype.maxHeight);
+        float x = random(minScreenX, maxScreenX - archetype.rightInset);
+        // Fase da animação relativa ao relógio da corrida no fim deste passo (o mesmo do desenho e
+        // do refineByMask), em frames inteiros: todas as instâncias trocam de frame juntas, no tique
+        // do relógio do arquétipo
+        float duration = archetypeDurations[index];
+        float animationOffset = (random(0f, duration) - (time + delta)) % duration;
+        if (animationOffset < 0f) animationOffset += duration;
+        int animationPhase = Math.min(archetype.frames - 1, (int) (animationOffset / archetype.frameDuration));
+        // Nasce no topo da tela do início do passo e desce junto com a rolagem deste passo
+        obstacles.add(index, x, prevDistance + HEIGHT, w, h, animationPhase);
+    }
+
+    // Sorteio em [min, max) do gerador da corrida
+    private float random(float min, float max) {
+        return min + random.nextFloat() * (max - min);
+    }
+
+    /**
+     * Lê as máscaras geradas no build (barco no arquivo comum, obstáculos no da
+     * fase) e liga o teste por pixel. Tela e replay sem janela passam pelo mesmo
+     * caminho, então colidem igual.
+     */
+    public void loadCollisionMasks(FileHandle commonMasks, FileHandle phaseMasks) {
+        ObjectMap<String, CollisionMask[]> boat = CollisionMask.readAll(commonMasks);
+        ObjectMap<String, CollisionMask[]> byRegion = CollisionMask.readAll(phaseMasks);
+        CollisionMask[][] archetypeFrames = new CollisionMask[phase.archetypeCount()][];
+        for (int i = 0; i < archetypeFrames.length; i++) {
+            archetypeFrames[i] = byRegion.get(phase.archetype(i).region);
+        }
+        setCollisionMasks(boat.get("boat"), BOAT_FRAME_DURATION, archetypeFrames);
+    }
+
+    // Sem morte: o contato ainda é detectado (isColliding), mas a corrida segue
+    public void setInvulnerable(boolean invulnerable) {
+        this.invulnerable = invulnerable;
+    }
+
+    /**
+     * Liga o teste por pixel. boatFrames segue a animação do barco; archetypeFrames
+     * tem o mesmo índice dos arquétipos da fase (null em um arquétipo = só AABB).
+     *
+     * As máscaras do barco e dos arquétipos de tamanho fixo são copiadas aqui no
+     * tamanho de desenho, para o passo usar o AND por palavras; as de tamanho
+     * sorteado ficam na origem e passam pelo mapeamento por pixel.
+     */
+    public void setCollisionMasks(CollisionMask[] boatFrames, float boatFrameDuration, CollisionMask[][] archetypeFrames) {
+        this.boatMasks = boatFrames != null
+            ? resampled(boatFrames, MathUtils.round(boatW), MathUtils.round(boatH)) : null;
+        this.boatFrameDuration = boatFrameDuration;
+        if (archetypeFrames == null) {
+            this.archetypeMasks = null;
+            return;
+        }
+        CollisionMask[][] masks = new CollisionMask[archetypeFrames.length][];
+        for (int i = 0; i < masks.length; i++) {
+            CollisionMask[] frames = archetypeFrames[i];
+            PhaseDefinition.Archetype archetype = phase.archetype(i);
+            boolean fixedSize = archetype.minWidth == archetype.maxWidth && archetype.minHeight == archetype.maxHeight;
+            masks[i] = frames != null && fixedSize
+                ? resampled(frames, MathUtils.round(archetype.minWidth), MathUtils.round(archetype.minHeight)) : frames;
+        }
+        this.archetypeMasks = masks;
+    }
+
+    private static CollisionMask[] resampled(CollisionMask[] frames, int width, int height) {
+        CollisionMask[] copies = new CollisionMask[frames.length];
+        for (int i = 0; i < frames.length; i++) copies[i] = frames[i].resampled(width, height);
+        return copies;
+    }
+
+    // --- Estado somente leitura para o renderizador ---
+
+    public PhaseDefinition getPhase() { return phase; }
+    public long getSeed() { return seed; }
+    public State getState() { return state; }
+    public boolean isColliding() { return colliding; }
+    public float getTime() { return time; }
+    public float getCollisionTime() { return collisionTime; }
+
+    public float getBoatX() { return boatX; }
+    public float getBoatY() { return boatY; }
+    public float getBoatX(float alpha) { return prevBoatX + (boatX - prevBoatX) * alpha; }
+    public float getBoatY(float alpha) { return prevBoatY + (boatY - prevBoatY) * alpha; }
+    public float getBoatWidth() { return boatW; }
+    public float getBoatHeight() { return boatH; }
+    public float getAnimationTime() { return animationTime; }
+
+    public float getScrollSpeed() { return scrollSpeed; }
+    public float getBaseSpeed() { return baseSpeed; }
+    public float getMaxBoost() { return maxBoost; }
+    public float getRiverScroll() { return riverScroll; }
+    // Entre dois passos pode sair um pouco abaixo de 0 logo depois da volta; o desenho usa fract/mod
+    public float getRiverScroll(float alpha) { return prevRiverScroll + (riverScroll - prevRiverScroll) * alpha; }
+
+    public int getObstacleCount() { return obstacles.size(); }
+    public ObstacleStore getObstacles() { return obstacles; } // só leitura fora do pacote
+    public float getDistance(float alpha) { return prevDistance + (distance - prevDistance) * alpha; }
+    // Trecho [firstVisibleObstacle, endVisibleObstacle) da loja que pode aparecer na tela
+    public int firstVisibleObstacle(float alpha) { return obstacles.lowerBound(getDistance(alpha) - maxObstacleHeight); }
+    public int endVisibleObstacle(float alpha) { return obstacles.lowerBound(getDistance(alpha) + HEIGHT); }
+    public float getObstacleY(int index, float alpha) { return obstacles.y(index) - getDistance(alpha); }
+    // Fase do obstáculo no relógio do seu arquétipo (que anda com getTime())
+    public int getObstaclePhase(int index) { return obstacles.phase(index); }
+
+    public float getDeathTime() { return deathTime; }
+    public float getDeathDuration() { return deathDuration; }
+}
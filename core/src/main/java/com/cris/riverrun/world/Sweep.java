@@ -0,0 +1,54 @@
+package com.cris.riverrun.world;
+
+/**
+ * Colisão contínua entre duas AABBs (swept AABB).
+ *
+ * A caixa A fica parada e B se desloca por (vx, vy) durante o passo; o
+ * resultado é a fração do passo em que as duas começam a se sobrepor. Assim
+ * um obstáculo rápido não atravessa o barco entre dois ticks.
+ */
+public final class Sweep {
+
+    public static final float NO_HIT = -1f;
+
+    private Sweep() {}
+
+    // Fração [0, 1] do passo em que A e B passam a se sobrepor, ou NO_HIT
+    public static float timeOfImpact(float ax, float ay, float aw, float ah,
+                                     float bx, float by, float bw, float bh,
+                                     float vx, float vy) {
+        // Já sobrepostas no início do passo (mesmo teste estrito do AABB discreto)
+        if (ax < bx + bw && ax + aw > bx && ay < by + bh && ay + ah > by) return 0f;
+
+        float entryX, exitX;
+        if (vx == 0f) {
+            if (!(ax < bx + bw && ax + aw > bx)) return NO_HIT;
+            entryX = Float.NEGATIVE_INFINITY;
+            exitX = Float.POSITIVE_INFINITY;
+        } else if (vx > 0f) {
+            entryX = (ax - (bx + bw)) / vx;
+            exitX = (ax + aw - bx) / vx;
+        } else {
+            entryX = (ax + aw - bx) / vx;
+            exitX = (ax - (bx + bw)) / vx;
+        }
+
+        float entryY, exitY;
+        if (vy == 0f) {
+            if (!(ay < by + bh && ay + ah > by)) return NO_HIT;
+            entryY = Float.NEGATIVE_INFINITY;
+            exitY = Float.POSITIVE_INFINITY;
+        } else if (vy > 0f) {
+            entryY = (ay - (by + bh)) / vy;
+            exitY = (ay + ah - by) / vy;
+        } else {
+            entryY = (ay + ah - by) / vy;
+            exitY = (ay - (by + bh)) / vy;
+        }
+
+        float entry = Math.max(entryX, entryY);
+        float exit = Math.min(exitX, exitY);
+        if (entry >= exit || entry > 1f || entry < 0f) return NO_HIT;
+        return entry;
+    }
+}
@@ -0,0 +1,100 @@
+package com.cris.riverrun.world;
+
+import com.cris.riverrun.phases.PhaseDefinition;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * RiverWorld.step em regime não aloca: spawn, colisão (AABB e máscara) e
+ * descarte só reaproveitam os arrays do ObstacleStore.
+ *
+ * O mundo é semeado e invulnerável, com máscaras 16x16: o kraken tem tamanho
+ * fixo (cópia no tamanho de desenho, AND por palavras) e o tentáculo, sorteado
+ * (mapeamento pixel a pixel). Depois do aquecimento, que deixa a fila no
+ * tamanho de regime, os bytes alocados pela thread não podem mudar ao longo dos
+ * passos medidos.
+ */
+class RiverWorldAllocationTest {
+
+    private static final float STEP = 1f / 60f;
+    private static final int WARMUP_STEPS = 20_000;
+    private static final int MEASURED_STEPS = 10_000;
+
+    // Obstáculos pequenos e frequentes, para o barco bater neles o tempo todo
+    private static PhaseDefinition busyPhase() {
+        return PhaseDefinition.parse("{"
+            + "\"id\": \"busy\", \"name\": \"Cheio\", \"background\": \"DarkRiver.png\", \"atlas\": \"atlas/dark.atlas\","
+            + "\"spawnInterval\": { \"min\": 0.05, \"max\": 0.15 },"
+            + "\"obstacles\": ["
+            + "{ \"region\": \"kraken\", \"frames\": 12, \"weight\": 1, \"width\": [48, 48], \"height\": [48, 48], \"frameDuration\": 0.15 },"
+            + "{ \"region\": \"tentacle\", \"frames\": 6, \"weight\": 2, \"width\": [30, 90], \"height\": [30, 90], \"frameDuration\": 0.15 }"
+            + "],"
+            + "\"death\": { \"type\": \"frames\", \"region\": \"kraken\", \"frames\": 12, \"frameDuration\": 0.1, \"size\": 512 }"
+            + "}");
+    }
+
+    // Máscara 16x16 com um losango opaco, para o teste por pixel não ser só a AABB
+    private static CollisionMask diamond() {
+        int size = 16;
+        long[] bits = new long[size];
+        for (int y = 0; y < size; y++) {
+            int half = Math.min(y, size - 1 - y);
+            for (int x = size / 2 - 1 - half; x <= size / 2 + half; x++) bits[y] |= 1L << x;
+        }
+        return new CollisionMask(size, size, bits);
+    }
+
+    private static CollisionMask[] frames(int count) {
+        CollisionMask[] frames = new CollisionMask[count];
+        Arrays.fill(frames, diamond());
+        return frames;
+    }
+
+    @Test
+    void stepDoesNotAllocateInSteadyState() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean, "JVM sem contagem de alocação por thread");
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threads.isThreadAllocatedMemorySupported(), "JVM sem contagem de alocação por thread");
+        threads.setThreadAllocatedMemoryEnabled(true);
+        long thread = Thread.currentThread().getId();
+
+        RiverWorld world = new RiverWorld(busyPhase(), 42L);
+        world.setInvulnerable(true);
+        world.setCollisionMasks(frames(4), RiverWorld.BOAT_FRAME_DURATION, new CollisionMask[][] { frames(12), frames(6) });
+        InputSnapshot left = new InputSnapshot().set(true, true, false);
+        InputSnapshot right = new InputSnapshot().set(true, false, true);
+
+        int tick = 0;
+        for (int i = 0; i < WARMUP_STEPS; i++, tick++) world.step((tick / 30 & 1) == 0 ? left : right, STEP);
+
+        // O que a própria leitura aloca (em geral nada) sai da conta
+        long overhead = threads.getThreadAllocatedBytes(thread);
+        overhead = threads.getThreadAllocatedBytes(thread) - overhead;
+
+        int spawned = 0, culled = 0, collisions = 0;
+        int previousCount = world.getObstacleCount();
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < MEASURED_STEPS; i++, tick++) {
+            world.step((tick / 30 & 1) == 0 ? left : right, STEP);
+            int count = world.getObstacleCount();
+            if (count > previousCount) spawned++;
+            if (count < previousCount) culled++;
+            if (world.isColliding()) collisions++;
+            previousCount = count;
+        }
+        long allocated = threads.getThreadAllocatedBytes(thread) - before - overhead;
+
+        assertEquals(RiverWorld.State.PLAYING, world.getState());
+        assertTrue(spawned > 0, "nenhum spawn nos passos medidos");
+        assertTrue(culled > 0, "nenhum descarte nos passos medidos");
+        assertTrue(collisions > 0, "nenhuma colisão nos passos medidos");
+        assertEquals(0L, allocated, "bytes alocados em " + MEASURED_STEPS + " passos");
+    }
+}
@@ -0,0 +1,51 @@
+package com.cris.riverrun.lwjgl3;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.cris.riverrun.assets.Assets;
+import com.cris.riverrun.phases.PhaseDefinition;
+import com.cris.riverrun.world.InputRecording;
+import com.cris.riverrun.world.ReplayPlayer;
+import com.cris.riverrun.world.RiverWorld;
+
+/**
+ * Reproduz um replay sem janela nem OpenGL, na velocidade máxima, e imprime o
+ * resultado (estado final, tempo de simulação, ticks por segundo).
+ *
+ * Roda na pasta assets: {@code ./gradlew :lwjgl3:replayHeadless -Preplay=replays/last.replay}
+ */
+public class ReplayRunner {
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("Uso: ReplayRunner <arquivo.replay>");
+            System.exit(1);
+        }
+        InputRecording recording = InputRecording.read(new FileHandle(args[0]));
+
+        // Gdx.files não existe aqui: caminhos relativos à pasta de trabalho (assets)
+        Array<PhaseDefinition> phases = PhaseDefinition.loadAll(new FileHandle("phases/index.json"));
+        PhaseDefinition phase = null;
+        for (PhaseDefinition candidate : phases) {
+            if (candidate.id.equals(recording.phaseId)) phase = candidate;
+        }
+        if (phase == null) {
+            System.err.println("Fase desconhecida no replay: " + recording.phaseId);
+            System.exit(1);
+        }
+
+        RiverWorld world = new RiverWorld(phase, recording.seed);
+        world.loadCollisionMasks(new FileHandle(Assets.COMMON_MASKS), new FileHandle(phase.masks));
+        ReplayPlayer player = new ReplayPlayer(recording, world);
+
+        long start = TimeUtils.nanoTime();
+        int ticks = player.runToEnd();
+        long elapsed = TimeUtils.timeSinceNanos(start);
+
+        System.out.println("Fase " + phase.id + ", semente " + recording.seed + ", " + recording.tickRate + " ticks/s");
+        System.out.println(ticks + " ticks (" + recording.runCount() + " runs) em " + elapsed / 1_000_000 + " ms"
+            + " = " + (long) (ticks / Math.max(elapsed / 1e9, 1e-9)) + " ticks/s");
+        System.out.println("Estado final " + world.getState() + ", tempo " + world.getTime()
+            + " s, contato em " + world.getCollisionTime() + " s, " + world.getObstacleCount() + " obstáculos");
+    }
+}